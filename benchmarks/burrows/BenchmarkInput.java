@@ -0,0 +1,73 @@
+package burrows;
+
+import java.util.Random;
+
+public enum BenchmarkInput {
+    RANDOM {
+        @Override
+        public byte[] generate(int size, Random random) {
+            byte[] data = new byte[size];
+            random.nextBytes(data);
+            return data;
+        }
+    },
+    ENGLISH {
+        private final String[] words = {
+            "the", "of", "and", "to", "in", "a", "is", "that", "for", "it", "as", "was", "with", "be", "by",
+            "on", "not", "he", "this", "are", "or", "his", "from", "at", "which", "but", "have", "an", "had",
+            "they", "you", "were", "their", "one", "all", "we", "can", "her", "has", "there", "been", "if",
+            "more", "when", "will", "would", "who", "so", "no", "transform", "suffix", "rotation", "column"
+        };
+
+        @Override
+        public byte[] generate(int size, Random random) {
+            byte[] data = new byte[size];
+            int length = 0;
+            while (length < size) {
+                String word = words[(int) Math.min(words.length - 1, Math.abs(random.nextGaussian()) * 12)];
+                for (int i = 0; i < word.length() && length < size; i++)
+                    data[length++] = (byte) word.charAt(i);
+                if (length < size)
+                    data[length++] = (byte) (random.nextInt(12) == 0 ? '\n' : ' ');
+            }
+            return data;
+        }
+    },
+    REPETITIVE {
+        @Override
+        public byte[] generate(int size, Random random) {
+            byte[] data = new byte[size];
+            int length = 0;
+            while (length < size) {
+                byte b = (byte) random.nextInt(4);
+                int run = 1 + random.nextInt(4096);
+                for (int i = 0; i < run && length < size; i++)
+                    data[length++] = b;
+            }
+            return data;
+        }
+    },
+    BINARY {
+        @Override
+        public byte[] generate(int size, Random random) {
+            byte[] data = new byte[size];
+            int value = 0;
+            for (int i = 0; i + Integer.BYTES <= size; i += Integer.BYTES) {
+                value += random.nextInt(64);
+                data[i] = (byte) (value >>> 24);
+                data[i + 1] = (byte) (value >>> 16);
+                data[i + 2] = (byte) (value >>> 8);
+                data[i + 3] = (byte) value;
+            }
+            return data;
+        }
+    };
+
+    private static final long SEED = 42;
+
+    public abstract byte[] generate(int size, Random random);
+
+    public byte[] generate(int size) {
+        return generate(size, new Random(SEED));
+    }
+}
@@ -0,0 +1,51 @@
+package burrows;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class BurrowsWheelerInverseTransformerBenchmark {
+    @Param({"RANDOM", "ENGLISH", "REPETITIVE", "BINARY"})
+    public BenchmarkInput input;
+
+    @Param({"65536", "1048576", "8388608"})
+    public int size;
+
+    @Param({"NEXT", "INTERLEAVED", "BIDIRECTIONAL"})
+    public String engine;
+
+    private byte[] lastColumn;
+    private byte[] original;
+    private int first;
+    private BlockInverseTransformer inverseTransformer;
+
+    @Setup
+    public void setUp() {
+        byte[] block = input.generate(size);
+        lastColumn = new byte[size];
+        original = new byte[size];
+        first = new BurrowsWheelerBlockTransformer(size).transform(block, size, lastColumn);
+        inverseTransformer = createEngine();
+    }
+
+    private BlockInverseTransformer createEngine() {
+        switch (engine) {
+            case "NEXT":
+                return new BurrowsWheelerBlockInverseTransformer(size);
+            case "INTERLEAVED":
+                return new InterleavedBlockInverseTransformer(size, false);
+            default:
+                return new InterleavedBlockInverseTransformer(size, true);
+        }
+    }
+
+    @Benchmark
+    public byte[] inverseTransform(ProcessedBytes processed) {
+        inverseTransformer.inverseTransform(lastColumn, size, first, original);
+        processed.bytes += size;
+        return original;
+    }
+}
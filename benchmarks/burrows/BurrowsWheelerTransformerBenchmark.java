@@ -0,0 +1,43 @@
+package burrows;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+
+@State(Scope.Thread)
+public class BurrowsWheelerTransformerBenchmark {
+    @Param({"RANDOM", "ENGLISH", "REPETITIVE", "BINARY"})
+    public BenchmarkInput input;
+
+    @Param({"65536", "1048576", "8388608"})
+    public int size;
+
+    private byte[] block;
+    private String text;
+    private byte[] lastColumn;
+    private BurrowsWheelerBlockTransformer transformer;
+
+    @Setup
+    public void setUp() {
+        block = input.generate(size);
+        text = new String(block, StandardCharsets.ISO_8859_1);
+        lastColumn = new byte[size];
+        transformer = new BurrowsWheelerBlockTransformer(size);
+    }
+
+    @Benchmark
+    public int transformBlock(ProcessedBytes processed) {
+        processed.bytes += size;
+        return transformer.transform(block, size, lastColumn);
+    }
+
+    @Benchmark
+    public BurrowsWheelerTransform transformString(ProcessedBytes processed) {
+        processed.bytes += size;
+        return BurrowsWheelerTransformer.transform(text);
+    }
+}
@@ -0,0 +1,40 @@
+package burrows;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class CircularSuffixArrayBenchmark {
+    @Param({"RANDOM", "ENGLISH", "REPETITIVE", "BINARY"})
+    public BenchmarkInput input;
+
+    @Param({"65536", "1048576", "8388608"})
+    public int size;
+
+    @Param({"SAIS", "PREFIX_DOUBLING"})
+    public String sorterName;
+
+    private int[] text;
+    private int[] rotations;
+    private CircularSuffixSorter sorter;
+
+    @Setup
+    public void setUp() {
+        byte[] data = input.generate(size);
+        text = new int[size];
+        for (int i = 0; i < size; i++)
+            text[i] = data[i] & 0xFF;
+        rotations = new int[size];
+        sorter = sorterName.equals("SAIS") ? new SaisCircularSuffixSorter() : new PrefixDoublingCircularSuffixSorter();
+    }
+
+    @Benchmark
+    public int[] sort(ProcessedBytes processed) {
+        sorter.sort(text, size, Alphabet.R, rotations);
+        processed.bytes += size;
+        return rotations;
+    }
+}
@@ -0,0 +1,57 @@
+package burrows;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class MoveToFrontEncoderBenchmark {
+    @Param({"RANDOM", "ENGLISH", "REPETITIVE", "BINARY"})
+    public BenchmarkInput input;
+
+    @Param({"65536", "1048576", "8388608"})
+    public int size;
+
+    private byte[] lastColumn;
+    private byte[] ranks;
+    private byte[] output;
+
+    @Setup
+    public void setUp() {
+        byte[] block = input.generate(size);
+        lastColumn = new byte[size];
+        new BurrowsWheelerBlockTransformer(size).transform(block, size, lastColumn);
+
+        ranks = new byte[size];
+        new MoveToFrontEncoder().encode(lastColumn, size, ranks);
+        output = new byte[size];
+    }
+
+    @Benchmark
+    public byte[] encode(ProcessedBytes processed) {
+        new MoveToFrontEncoder().encode(lastColumn, size, output);
+        processed.bytes += size;
+        return output;
+    }
+
+    @Benchmark
+    public byte[] encodePerChar(ProcessedBytes processed) {
+        var encoder = new MoveToFrontEncoder();
+        for (int i = 0; i < size; i++) {
+            char c = (char) (lastColumn[i] & 0xFF);
+            output[i] = (byte) encoder.findIndex(c);
+            encoder.moveChar(c);
+        }
+        processed.bytes += size;
+        return output;
+    }
+
+    @Benchmark
+    public byte[] decode(ProcessedBytes processed) {
+        new MoveToFrontEncoder().decode(ranks, size, output);
+        processed.bytes += size;
+        return output;
+    }
+}
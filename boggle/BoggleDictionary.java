@@ -0,0 +1,18 @@
+package boggle;
+
+public interface BoggleDictionary {
+    int NONE = -1;
+
+    int root();
+
+    int child(int node, char letter);
+
+    boolean isWord(int node);
+
+    default boolean contains(String word) {
+        int node = root();
+        for (int i = 0; i < word.length() && node != NONE; i++)
+            node = child(node, word.charAt(i));
+        return node != NONE && isWord(node);
+    }
+}
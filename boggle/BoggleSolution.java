@@ -0,0 +1,28 @@
+package boggle;
+
+import java.util.Collections;
+import java.util.Set;
+
+public class BoggleSolution {
+    private final BoggleBoard board;
+    private final Set<String> words;
+    private final int score;
+
+    BoggleSolution(BoggleBoard board, Set<String> words, int score) {
+        this.board = board;
+        this.words = Collections.unmodifiableSet(words);
+        this.score = score;
+    }
+
+    public BoggleBoard board() {
+        return board;
+    }
+
+    public Set<String> words() {
+        return words;
+    }
+
+    public int score() {
+        return score;
+    }
+}
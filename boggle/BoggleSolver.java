@@ -1,81 +1,134 @@
 package boggle;
 
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 public class BoggleSolver {
     private static final char Q_SPECIAL_CASE = 'Q';
     private static final char U_SPECIAL_CASE = 'U';
-    private static final String QU_SPECIAL_STRING = String.valueOf(Q_SPECIAL_CASE) + U_SPECIAL_CASE;
+    private static final int MAX_BITMASK_CELLS = Long.SIZE;
 
-    private final TrieSET trieSET = new TrieSET();
+    private final BoggleDictionary dictionary;
+    private final ThreadLocal<BoggleSolverState> states = ThreadLocal.withInitial(BoggleSolverState::new);
 
     public BoggleSolver(String[] dictionary) {
-        for (var word : dictionary)
-            trieSET.insertWord(word);
+        this(new PackedTrieDictionary(dictionary));
+    }
+
+    public BoggleSolver(BoggleDictionary dictionary) {
+        if (dictionary == null)
+            throw new IllegalArgumentException("Dictionary cannot be null");
+
+        this.dictionary = dictionary;
     }
 
     public Iterable<String> getAllValidWords(BoggleBoard board) {
-        BoggleSolverState boggleSolverState = new BoggleSolverState(board);
+        return findAllValidWords(board);
+    }
 
-        int rows = board.rows();
-        int cols = board.cols();
-        for (int i = 0; i < rows; i++)
-            for (int j = 0; j < cols; j++)
-                findValidWordsDFS(i, j, trieSET.getRoot(), "", boggleSolverState);
+    public BoggleSolution solve(BoggleBoard board) {
+        Set<String> validWords = findAllValidWords(board);
 
-        return boggleSolverState.validWords;
+        int score = 0;
+        for (var word : validWords)
+            score += ScoringSystem.getScore(word.length());
+        return new BoggleSolution(board, validWords, score);
     }
 
-    private void findValidWordsDFS(int row, int col, TrieNode node, String word, BoggleSolverState boggleSolverState) {
-        if (isOutOfBounds(row, col, boggleSolverState.board) || boggleSolverState.visited[row][col])
-            return;
+    public List<BoggleSolution> solveAll(Collection<BoggleBoard> boards) {
+        return boards.parallelStream()
+                .map(this::solve)
+                .collect(Collectors.toList());
+    }
 
-        char letter = boggleSolverState.board.getLetter(row, col);
+    private Set<String> findAllValidWords(BoggleBoard board) {
+        BoggleSolverState boggleSolverState = states.get();
+        boggleSolverState.prepare(board);
+
+        int cells = boggleSolverState.letters.length;
+        for (int cell = 0; cell < cells; cell++) {
+            if (cells <= MAX_BITMASK_CELLS)
+                findValidWordsDFS(cell, dictionary.root(), 0, 0L, boggleSolverState);
+            else
+                findValidWordsDFSOnLargeBoard(cell, dictionary.root(), 0, boggleSolverState);
+        }
+
+        Set<String> validWords = boggleSolverState.validWords;
+        boggleSolverState.validWords = null;
+        return validWords;
+    }
+
+    private void findValidWordsDFS(int cell, int node, int wordLength, long visited,
+                                   BoggleSolverState boggleSolverState) {
+        char letter = boggleSolverState.letters[cell];
 
         node = getTrieNodeInBoggleFormat(node, letter);
 
-        if (node == null)
+        if (node == BoggleDictionary.NONE)
             return;
 
-        word += getCharInBoggleFormat(letter);
+        wordLength = appendCharInBoggleFormat(letter, wordLength, boggleSolverState.word);
 
-        if (isValidWord(node, word))
-            boggleSolverState.validWords.add(word);
+        if (isValidWord(node, wordLength))
+            boggleSolverState.validWords.add(new String(boggleSolverState.word, 0, wordLength));
 
-        boggleSolverState.visited[row][col] = true;
-        exploreNeighbors(row, col, node, word, boggleSolverState);
-        boggleSolverState.visited[row][col] = false;
+        visited |= 1L << cell;
+        int[] neighbors = boggleSolverState.neighbors;
+        for (int k = boggleSolverState.firstNeighbor[cell]; k < boggleSolverState.firstNeighbor[cell + 1]; k++) {
+            int neighbor = neighbors[k];
+            if ((visited & (1L << neighbor)) == 0)
+                findValidWordsDFS(neighbor, node, wordLength, visited, boggleSolverState);
+        }
     }
 
-    private boolean isOutOfBounds(int row, int col, BoggleBoard board) {
-        return row < 0 || row >= board.rows() || col < 0 || col >= board.cols();
+    private void findValidWordsDFSOnLargeBoard(int cell, int node, int wordLength,
+                                               BoggleSolverState boggleSolverState) {
+        char letter = boggleSolverState.letters[cell];
+
+        node = getTrieNodeInBoggleFormat(node, letter);
+
+        if (node == BoggleDictionary.NONE)
+            return;
+
+        wordLength = appendCharInBoggleFormat(letter, wordLength, boggleSolverState.word);
+
+        if (isValidWord(node, wordLength))
+            boggleSolverState.validWords.add(new String(boggleSolverState.word, 0, wordLength));
+
+        long[] visited = boggleSolverState.visited;
+        visited[cell >>> 6] |= 1L << cell;
+        int[] neighbors = boggleSolverState.neighbors;
+        for (int k = boggleSolverState.firstNeighbor[cell]; k < boggleSolverState.firstNeighbor[cell + 1]; k++) {
+            int neighbor = neighbors[k];
+            if ((visited[neighbor >>> 6] & (1L << neighbor)) == 0)
+                findValidWordsDFSOnLargeBoard(neighbor, node, wordLength, boggleSolverState);
+        }
+        visited[cell >>> 6] &= ~(1L << cell);
     }
 
-    private TrieNode getTrieNodeInBoggleFormat(TrieNode node, char letter) {
-        node = node.getChildren(letter);
-        if (node != null && isQuSpecialCase(letter))
-            node = node.getChildren(U_SPECIAL_CASE);
+    private int getTrieNodeInBoggleFormat(int node, char letter) {
+        node = dictionary.child(node, letter);
+        if (node != BoggleDictionary.NONE && isQuSpecialCase(letter))
+            node = dictionary.child(node, U_SPECIAL_CASE);
         return node;
     }
 
-    private String getCharInBoggleFormat(char letter) {
-        return isQuSpecialCase(letter) ? QU_SPECIAL_STRING : String.valueOf(letter);
+    private int appendCharInBoggleFormat(char letter, int wordLength, char[] word) {
+        word[wordLength++] = letter;
+        if (isQuSpecialCase(letter))
+            word[wordLength++] = U_SPECIAL_CASE;
+        return wordLength;
     }
 
     private boolean isQuSpecialCase(char letter) {
         return letter == Q_SPECIAL_CASE;
     }
 
-    private void exploreNeighbors(int row, int col, TrieNode node, String word, BoggleSolverState boggleSolverState) {
-        for (int i = -1; i <= 1; i++)
-            for (int j = -1; j <= 1; j++)
-                if (i != 0 || j != 0)
-                    findValidWordsDFS(row + i, col + j, node, word, boggleSolverState);
-    }
-
-    private boolean isValidWord(TrieNode node, String word) {
-        return node.isEndOfWord() && word.length() > 2;
+    private boolean isValidWord(int node, int wordLength) {
+        return dictionary.isWord(node) && wordLength > 2;
     }
 
     public int scoreOf(String word) {
@@ -83,19 +136,52 @@ public class BoggleSolver {
     }
     
     private boolean hasWord(String word) {
-        return trieSET.contains(word);
+        return dictionary.contains(word);
     }
 
     private static class BoggleSolverState {
-        private final BoggleBoard board;
-        private final boolean[][] visited;
-        private final Set<String> validWords = new HashSet<>();
-        private BoggleSolverState(BoggleBoard board) {
-            this.board = board;
-
-            int rows = board.rows();
-            int cols = board.cols();
-            this.visited = new boolean[rows][cols];
+        private int rows = -1;
+        private int cols = -1;
+        private char[] letters = new char[0];
+        private int[] firstNeighbor = new int[1];
+        private int[] neighbors = new int[0];
+        private long[] visited = new long[0];
+        private char[] word = new char[0];
+        private Set<String> validWords;
+
+        private void prepare(BoggleBoard board) {
+            if (board.rows() != rows || board.cols() != cols)
+                resize(board.rows(), board.cols());
+
+            for (int row = 0; row < rows; row++)
+                for (int col = 0; col < cols; col++)
+                    letters[row * cols + col] = board.getLetter(row, col);
+            validWords = new HashSet<>();
+        }
+
+        private void resize(int rows, int cols) {
+            this.rows = rows;
+            this.cols = cols;
+
+            int cells = rows * cols;
+            letters = new char[cells];
+            firstNeighbor = new int[cells + 1];
+            neighbors = new int[8 * cells];
+            visited = new long[(cells + Long.SIZE - 1) / Long.SIZE];
+            word = new char[2 * cells];
+
+            int count = 0;
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < cols; col++) {
+                    int cell = row * cols + col;
+                    firstNeighbor[cell] = count;
+                    for (int i = Math.max(0, row - 1); i <= Math.min(rows - 1, row + 1); i++)
+                        for (int j = Math.max(0, col - 1); j <= Math.min(cols - 1, col + 1); j++)
+                            if (i != row || j != col)
+                                neighbors[count++] = i * cols + j;
+                }
+            }
+            firstNeighbor[cells] = count;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package boggle;
+
+import java.util.Arrays;
+
+public class DawgDictionary implements BoggleDictionary {
+    private static final char START_LETTER = 'A';
+    private static final char END_LETTER = 'Z';
+
+    private final int[] firstEdge;
+    private final char[] edgeLabels;
+    private final int[] edgeTargets;
+    private final boolean[] words;
+    private final int root;
+
+    public DawgDictionary(String[] dictionary) {
+        TrieSET trieSET = new TrieSET();
+        for (var word : dictionary)
+            trieSET.insertWord(word);
+
+        Builder builder = new Builder();
+        root = builder.minimize(trieSET.getRoot());
+
+        firstEdge = Arrays.copyOf(builder.firstEdge, builder.nodeCount + 1);
+        edgeLabels = Arrays.copyOf(builder.edgeLabels, builder.edgeCount);
+        edgeTargets = Arrays.copyOf(builder.edgeTargets, builder.edgeCount);
+        words = Arrays.copyOf(builder.words, builder.nodeCount);
+    }
+
+    @Override
+    public int root() {
+        return root;
+    }
+
+    @Override
+    public int child(int node, char letter) {
+        for (int edge = firstEdge[node]; edge < firstEdge[node + 1]; edge++) {
+            if (edgeLabels[edge] == letter)
+                return edgeTargets[edge];
+        }
+        return NONE;
+    }
+
+    @Override
+    public boolean isWord(int node) {
+        return words[node];
+    }
+
+    private static class Builder {
+        private static final int EMPTY = -1;
+
+        private int[] firstEdge = new int[1 << 10];
+        private boolean[] words = new boolean[1 << 10];
+        private int[] hashes = new int[1 << 10];
+        private char[] edgeLabels = new char[1 << 10];
+        private int[] edgeTargets = new int[1 << 10];
+        private int[] registry = emptyRegistry(1 << 11);
+        private int[] pending = new int[1 << 8];
+        private int pendingSize;
+        private int nodeCount;
+        private int edgeCount;
+
+        private int minimize(TrieNode node) {
+            int base = pendingSize;
+            for (char c = START_LETTER; c <= END_LETTER; c++) {
+                TrieNode child = node.getChildren(c);
+                if (child != null)
+                    push(c, minimize(child));
+            }
+
+            boolean word = node.isEndOfWord();
+            int hash = hash(word, base);
+            int mask = registry.length - 1;
+            int slot = hash & mask;
+            for (int id; (id = registry[slot]) != EMPTY; slot = (slot + 1) & mask) {
+                if (hashes[id] == hash && matches(id, word, base)) {
+                    pendingSize = base;
+                    return id;
+                }
+            }
+
+            int id = register(word, base, hash);
+            registry[slot] = id;
+            if (2 * nodeCount > registry.length)
+                growRegistry();
+            pendingSize = base;
+            return id;
+        }
+
+        private void push(char label, int target) {
+            if (pendingSize + 2 > pending.length)
+                pending = Arrays.copyOf(pending, 2 * pending.length);
+            pending[pendingSize++] = label;
+            pending[pendingSize++] = target;
+        }
+
+        private int hash(boolean word, int base) {
+            int hash = word ? 1 : 0;
+            for (int i = base; i < pendingSize; i++)
+                hash = 31 * hash + pending[i];
+            return hash ^ (hash >>> 16);
+        }
+
+        private boolean matches(int id, boolean word, int base) {
+            if (words[id] != word || firstEdge[id + 1] - firstEdge[id] != (pendingSize - base) / 2)
+                return false;
+            for (int edge = firstEdge[id], i = base; edge < firstEdge[id + 1]; edge++, i += 2) {
+                if (edgeLabels[edge] != pending[i] || edgeTargets[edge] != pending[i + 1])
+                    return false;
+            }
+            return true;
+        }
+
+        private int register(boolean word, int base, int hash) {
+            int degree = (pendingSize - base) / 2;
+            if (edgeCount + degree > edgeLabels.length) {
+                int capacity = Math.max(2 * edgeLabels.length, edgeCount + degree);
+                edgeLabels = Arrays.copyOf(edgeLabels, capacity);
+                edgeTargets = Arrays.copyOf(edgeTargets, capacity);
+            }
+            for (int i = base; i < pendingSize; i += 2) {
+                edgeLabels[edgeCount] = (char) pending[i];
+                edgeTargets[edgeCount++] = pending[i + 1];
+            }
+
+            if (nodeCount + 2 > firstEdge.length) {
+                firstEdge = Arrays.copyOf(firstEdge, 2 * firstEdge.length);
+                words = Arrays.copyOf(words, firstEdge.length);
+                hashes = Arrays.copyOf(hashes, firstEdge.length);
+            }
+            int id = nodeCount++;
+            words[id] = word;
+            hashes[id] = hash;
+            firstEdge[id + 1] = edgeCount;
+            return id;
+        }
+
+        private void growRegistry() {
+            registry = emptyRegistry(2 * registry.length);
+            int mask = registry.length - 1;
+            for (int id = 0; id < nodeCount; id++) {
+                int slot = hashes[id] & mask;
+                while (registry[slot] != EMPTY)
+                    slot = (slot + 1) & mask;
+                registry[slot] = id;
+            }
+        }
+
+        private static int[] emptyRegistry(int capacity) {
+            int[] registry = new int[capacity];
+            Arrays.fill(registry, EMPTY);
+            return registry;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package boggle;
+
+import java.util.Arrays;
+
+public class PackedTrieDictionary implements BoggleDictionary {
+    private static final char START_LETTER = 'A';
+    private static final char END_LETTER = 'Z';
+    private static final int NUM_LETTERS = END_LETTER - START_LETTER + 1;
+    private static final int WORD_FLAG = 1 << NUM_LETTERS;
+    private static final int LETTER_MASK = WORD_FLAG - 1;
+
+    private final int[] nodes;
+
+    public PackedTrieDictionary(String[] dictionary) {
+        TrieSET trieSET = new TrieSET();
+        for (var word : dictionary)
+            trieSET.insertWord(word);
+
+        Builder builder = new Builder();
+        builder.append(trieSET.getRoot());
+        nodes = Arrays.copyOf(builder.nodes, builder.size);
+    }
+
+    public int size() {
+        return nodes.length;
+    }
+
+    @Override
+    public int root() {
+        return 0;
+    }
+
+    @Override
+    public int child(int node, char letter) {
+        int bit = letter - START_LETTER;
+        if (bit < 0 || bit >= NUM_LETTERS)
+            return NONE;
+
+        int header = nodes[node];
+        int letterBit = 1 << bit;
+        if ((header & letterBit) == 0)
+            return NONE;
+        return nodes[node + 1 + Integer.bitCount(header & (letterBit - 1))];
+    }
+
+    @Override
+    public boolean isWord(int node) {
+        return (nodes[node] & WORD_FLAG) != 0;
+    }
+
+    private static class Builder {
+        private int[] nodes = new int[1 << 10];
+        private int size;
+
+        private int append(TrieNode node) {
+            int header = node.isEndOfWord() ? WORD_FLAG : 0;
+            for (char c = START_LETTER; c <= END_LETTER; c++) {
+                if (node.getChildren(c) != null)
+                    header |= 1 << (c - START_LETTER);
+            }
+
+            int id = reserve(1 + Integer.bitCount(header & LETTER_MASK));
+            nodes[id] = header;
+            int slot = id + 1;
+            for (char c = START_LETTER; c <= END_LETTER; c++) {
+                TrieNode child = node.getChildren(c);
+                if (child != null) {
+                    int childId = append(child);
+                    nodes[slot++] = childId;
+                }
+            }
+            return id;
+        }
+
+        private int reserve(int length) {
+            if (size + length > nodes.length)
+                nodes = Arrays.copyOf(nodes, Math.max(2 * nodes.length, size + length));
+            int id = size;
+            size += length;
+            return id;
+        }
+    }
+}
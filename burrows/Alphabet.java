@@ -2,4 +2,5 @@ package burrows;
 
 public class Alphabet {
     public static final int R = 256;
-}
\ No newline at end of file
+    public static final int WIDE_R = 1 << 16;
+}
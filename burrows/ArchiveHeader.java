@@ -0,0 +1,74 @@
+package burrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class ArchiveHeader {
+    public static final int SIZE = Integer.BYTES + 2 * Byte.BYTES + 2 * Integer.BYTES;
+    private static final int CHECKED_SIZE = SIZE - Integer.BYTES;
+    private static final int MAGIC = 0x42575A43;
+    private static final byte VERSION = 5;
+
+    private final int blockSize;
+    private final EntropyCoder entropyCoder;
+
+    public ArchiveHeader(int blockSize, EntropyCoder entropyCoder) {
+        if (blockSize <= 0 || blockSize > BurrowsWheeler.MAX_BLOCK_SIZE)
+            throw new IllegalArgumentException("Block size must be between 1 and " + BurrowsWheeler.MAX_BLOCK_SIZE);
+        if (entropyCoder == null)
+            throw new IllegalArgumentException("Entropy coder cannot be null");
+
+        this.blockSize = blockSize;
+        this.entropyCoder = entropyCoder;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public EntropyCoder getEntropyCoder() {
+        return entropyCoder;
+    }
+
+    public byte[] toByteArray() {
+        ByteBuffer header = ByteBuffer.allocate(SIZE);
+        header.putInt(MAGIC);
+        header.put(VERSION);
+        header.put(entropyCoder.id());
+        header.putInt(blockSize);
+        header.putInt(BlockChecksum.of(header.array(), CHECKED_SIZE));
+        return header.array();
+    }
+
+    public static ArchiveHeader read(ByteSource in) throws IOException {
+        byte[] bytes = new byte[SIZE];
+        if (in.read(bytes) != SIZE)
+            throw new IOException("Missing stream header");
+        return parse(ByteBuffer.wrap(bytes));
+    }
+
+    public static ArchiveHeader parse(ByteBuffer header) throws IOException {
+        byte[] checked = new byte[CHECKED_SIZE];
+        header.duplicate().get(checked);
+        if (header.getInt() != MAGIC)
+            throw new IOException("Not a burrows compressed stream");
+        if (header.get() != VERSION)
+            throw new IOException("Unsupported stream version");
+
+        byte entropyCoderId = header.get();
+        int blockSize = header.getInt();
+        if (header.getInt() != BlockChecksum.of(checked))
+            throw new IOException("Corrupt stream header");
+        if (blockSize <= 0 || blockSize > BurrowsWheeler.MAX_BLOCK_SIZE)
+            throw new IOException("Invalid block size");
+        return new ArchiveHeader(blockSize, parseEntropyCoder(entropyCoderId));
+    }
+
+    private static EntropyCoder parseEntropyCoder(byte id) throws IOException {
+        try {
+            return EntropyCoder.fromId(id);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unsupported entropy coder", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package burrows;
+
+public class BitReader {
+    private final byte[] bytes;
+    private int position;
+    private long accumulator;
+    private int availableBits;
+
+    public BitReader(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    public int readBits(int count) {
+        while (availableBits < count) {
+            if (position == bytes.length)
+                throw new IllegalStateException("Reading past the end of the block");
+            accumulator = (accumulator << Byte.SIZE) | (bytes[position++] & 0xFF);
+            availableBits += Byte.SIZE;
+        }
+        availableBits -= count;
+        return (int) ((accumulator >>> availableBits) & ((1L << count) - 1));
+    }
+
+    public boolean readBit() {
+        return readBits(1) == 1;
+    }
+
+    public int readInt() {
+        return readBits(Integer.SIZE);
+    }
+}
@@ -0,0 +1,45 @@
+package burrows;
+
+import java.util.Arrays;
+
+public class BitWriter {
+    private byte[] bytes;
+    private int length;
+    private long accumulator;
+    private int pendingBits;
+
+    public BitWriter(int initialCapacity) {
+        bytes = new byte[Math.max(initialCapacity, Long.BYTES)];
+    }
+
+    public void writeBits(int value, int count) {
+        accumulator = (accumulator << count) | (value & ((1L << count) - 1));
+        pendingBits += count;
+        while (pendingBits >= Byte.SIZE) {
+            pendingBits -= Byte.SIZE;
+            appendByte((int) (accumulator >>> pendingBits));
+        }
+    }
+
+    public void writeBit(boolean bit) {
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+    public void writeInt(int value) {
+        writeBits(value, Integer.SIZE);
+    }
+
+    private void appendByte(int value) {
+        if (length == bytes.length)
+            bytes = Arrays.copyOf(bytes, Math.multiplyExact(bytes.length, 2));
+        bytes[length++] = (byte) value;
+    }
+
+    public byte[] toByteArray() {
+        if (pendingBits > 0) {
+            appendByte((int) (accumulator << (Byte.SIZE - pendingBits)));
+            pendingBits = 0;
+        }
+        return Arrays.copyOf(bytes, length);
+    }
+}
@@ -0,0 +1,72 @@
+package burrows;
+
+import java.util.zip.CRC32C;
+
+public class BlockChecksum {
+    private static final int POLYNOMIAL = 0x82F63B78;
+
+    private BlockChecksum() {
+    }
+
+    public static int of(byte[] block) {
+        return of(block, block.length);
+    }
+
+    public static int of(byte[] block, int length) {
+        return of(block, 0, length);
+    }
+
+    public static int of(byte[] block, int offset, int length) {
+        var crc = new CRC32C();
+        crc.update(block, offset, length);
+        return (int) crc.getValue();
+    }
+
+    public static int combine(int first, int second, long secondLength) {
+        if (secondLength < 0)
+            throw new IllegalArgumentException("Length cannot be negative");
+
+        int[] even = new int[Integer.SIZE];
+        int[] odd = new int[Integer.SIZE];
+        odd[0] = POLYNOMIAL;
+        for (int n = 1, row = 1; n < Integer.SIZE; n++, row <<= 1)
+            odd[n] = row;
+        square(even, odd);
+        square(odd, even);
+
+        while (secondLength != 0) {
+            square(even, odd);
+            if ((secondLength & 1) != 0)
+                first = apply(even, first);
+            secondLength >>>= 1;
+            if (secondLength == 0)
+                break;
+
+            square(odd, even);
+            if ((secondLength & 1) != 0)
+                first = apply(odd, first);
+            secondLength >>>= 1;
+        }
+        return first ^ second;
+    }
+
+    static int[] appendOperator(long length) {
+        int[] operator = new int[Integer.SIZE];
+        for (int n = 0; n < Integer.SIZE; n++)
+            operator[n] = combine(1 << n, 0, length);
+        return operator;
+    }
+
+    static int apply(int[] operator, int checksum) {
+        int result = 0;
+        for (int n = 0; checksum != 0; n++, checksum >>>= 1)
+            if ((checksum & 1) != 0)
+                result ^= operator[n];
+        return result;
+    }
+
+    private static void square(int[] square, int[] operator) {
+        for (int n = 0; n < Integer.SIZE; n++)
+            square[n] = apply(operator, operator[n]);
+    }
+}
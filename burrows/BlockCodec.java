@@ -0,0 +1,11 @@
+package burrows;
+
+public interface BlockCodec {
+    byte[] encode(byte[] block);
+
+    byte[] decode(byte[] encodedBlock);
+
+    default EncodedBlock encodeWithChecksum(byte[] block) {
+        return new EncodedBlock(encode(block), block.length, BlockChecksum.of(block));
+    }
+}
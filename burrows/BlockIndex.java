@@ -0,0 +1,125 @@
+package burrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class BlockIndex {
+    public static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final int ENTRY_SIZE = 2 * Long.BYTES + 2 * Integer.BYTES;
+    private static final int MAGIC = 0x4257495A;
+
+    private long[] compressedOffsets = new long[16];
+    private long[] uncompressedOffsets = new long[16];
+    private int[] lengths = new int[16];
+    private int[] checksums = new int[16];
+    private int size;
+    private long nextCompressedOffset;
+    private long nextUncompressedOffset;
+
+    public BlockIndex(long firstFrameOffset) {
+        nextCompressedOffset = firstFrameOffset;
+    }
+
+    public void addBlock(int length, int frameSize, int checksum) {
+        append(nextCompressedOffset, length, checksum);
+        nextCompressedOffset += frameSize;
+    }
+
+    private void append(long compressedOffset, int length, int checksum) {
+        if (size == lengths.length)
+            grow();
+
+        compressedOffsets[size] = compressedOffset;
+        uncompressedOffsets[size] = nextUncompressedOffset;
+        lengths[size] = length;
+        checksums[size] = checksum;
+        size++;
+
+        nextUncompressedOffset += length;
+    }
+
+    private void grow() {
+        int capacity = Math.multiplyExact(lengths.length, 2);
+        compressedOffsets = Arrays.copyOf(compressedOffsets, capacity);
+        uncompressedOffsets = Arrays.copyOf(uncompressedOffsets, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+        checksums = Arrays.copyOf(checksums, capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long endOffset() {
+        return nextCompressedOffset;
+    }
+
+    public long uncompressedLength() {
+        return nextUncompressedOffset;
+    }
+
+    public long compressedOffset(int block) {
+        return compressedOffsets[block];
+    }
+
+    public long uncompressedOffset(int block) {
+        return uncompressedOffsets[block];
+    }
+
+    public int length(int block) {
+        return lengths[block];
+    }
+
+    public int checksum(int block) {
+        return checksums[block];
+    }
+
+    public int findBlock(long uncompressedOffset) {
+        if (uncompressedOffset < 0 || uncompressedOffset >= nextUncompressedOffset)
+            throw new IllegalArgumentException("Offset is outside the archive");
+
+        int index = Arrays.binarySearch(uncompressedOffsets, 0, size, uncompressedOffset);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    public byte[] toByteArray(long indexOffset) {
+        ByteBuffer footer = ByteBuffer.allocate(size * ENTRY_SIZE + TRAILER_SIZE);
+        for (int i = 0; i < size; i++) {
+            footer.putLong(compressedOffsets[i]);
+            footer.putLong(uncompressedOffsets[i]);
+            footer.putInt(lengths[i]);
+            footer.putInt(checksums[i]);
+        }
+        footer.putLong(indexOffset);
+        footer.putInt(size);
+        footer.putInt(MAGIC);
+        return footer.array();
+    }
+
+    public static long readIndexOffset(ByteBuffer trailer) throws IOException {
+        long indexOffset = trailer.getLong(0);
+        if (trailer.getInt(Long.BYTES + Integer.BYTES) != MAGIC)
+            throw new IOException("Missing block index");
+        return indexOffset;
+    }
+
+    public static BlockIndex parse(ByteBuffer footer) throws IOException {
+        int size = footer.getInt(footer.limit() - 2 * Integer.BYTES);
+        if (size < 0 || (long) size * ENTRY_SIZE + TRAILER_SIZE != footer.limit())
+            throw new IOException("Corrupt block index");
+
+        var index = new BlockIndex(0);
+        for (int i = 0; i < size; i++) {
+            long compressedOffset = footer.getLong();
+            long uncompressedOffset = footer.getLong();
+            int length = footer.getInt();
+            int checksum = footer.getInt();
+            if (uncompressedOffset != index.nextUncompressedOffset)
+                throw new IOException("Corrupt block index");
+
+            index.append(compressedOffset, length, checksum);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,26 @@
+package burrows;
+
+public interface BlockInverseTransformer {
+    int maxBlockSize();
+
+    void inverseTransform(byte[] lastColumn, int length, int first, byte[] original);
+
+    default void inverseTransform(byte[] lastColumn, int length, int[] startRows, byte[] original) {
+        inverseTransform(lastColumn, length, startRows[0], original);
+    }
+
+    default int inverseTransformWithChecksum(byte[] lastColumn, int length, int first, byte[] original) {
+        inverseTransform(lastColumn, length, first, original);
+        return BlockChecksum.of(original, length);
+    }
+
+    default int inverseTransformWithChecksum(byte[] lastColumn, int length, int[] startRows, byte[] original) {
+        return inverseTransformWithChecksum(lastColumn, length, startRows[0], original);
+    }
+
+    static BlockInverseTransformer create(int maxBlockSize) {
+        if (maxBlockSize <= InterleavedBlockInverseTransformer.MAX_BLOCK_SIZE)
+            return new InterleavedBlockInverseTransformer(maxBlockSize, true);
+        return new BurrowsWheelerBlockInverseTransformer(maxBlockSize);
+    }
+}
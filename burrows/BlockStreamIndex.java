@@ -0,0 +1,109 @@
+package burrows;
+
+import edu.princeton.cs.algs4.StdOut;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class BlockStreamIndex {
+    private final List<FMIndex> blocks = new ArrayList<>();
+    private final List<Long> offsets = new ArrayList<>();
+    private long length;
+
+    public BlockStreamIndex(ByteSource in) throws IOException {
+        BurrowsWheeler.readBlocks(in, new BurrowsWheeler.BlockVisitor() {
+            @Override
+            public void start(int blockSize, int streams) {
+            }
+
+            @Override
+            public void visit(int block, byte[] lastColumn, int blockLength, int[] startRows, int checksum) {
+                blocks.add(new FMIndex(lastColumn, blockLength, startRows[0]));
+                offsets.add(length);
+                length += blockLength;
+            }
+        });
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public int blockCount() {
+        return blocks.size();
+    }
+
+    public long count(String pattern) {
+        return locate(pattern).length;
+    }
+
+    public long count(byte[] pattern) {
+        return locate(pattern).length;
+    }
+
+    public long[] locate(String pattern) {
+        return locate(pattern.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    public long[] locate(byte[] pattern) {
+        if (pattern == null)
+            throw new IllegalArgumentException("Pattern cannot be null");
+
+        var positions = new ArrayList<Long>();
+        for (int b = 0; b < blocks.size(); b++) {
+            FMIndex block = blocks.get(b);
+            for (int position : block.locate(pattern))
+                if (position + pattern.length <= block.length())
+                    positions.add(offsets.get(b) + position);
+            if (pattern.length > 1)
+                locateAcrossBoundary(pattern, b, positions);
+        }
+
+        long[] result = new long[positions.size()];
+        for (int i = 0; i < result.length; i++)
+            result[i] = positions.get(i);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private void locateAcrossBoundary(byte[] pattern, int b, List<Long> positions) {
+        FMIndex block = blocks.get(b);
+        byte[] tail = block.suffix(pattern.length - 1);
+        byte[] window = Arrays.copyOf(tail, tail.length + pattern.length - 1);
+        int windowLength = tail.length;
+        for (int next = b + 1; next < blocks.size() && windowLength < window.length; next++) {
+            byte[] head = blocks.get(next).prefix(window.length - windowLength);
+            System.arraycopy(head, 0, window, windowLength, head.length);
+            windowLength += head.length;
+        }
+
+        long tailOffset = offsets.get(b) + block.length() - tail.length;
+        for (int start = 0; start < tail.length && start + pattern.length <= windowLength; start++) {
+            if (start + pattern.length > tail.length && matches(window, start, pattern))
+                positions.add(tailOffset + start);
+        }
+    }
+
+    private static boolean matches(byte[] window, int start, byte[] pattern) {
+        for (int i = 0; i < pattern.length; i++)
+            if (window[start + i] != pattern[i])
+                return false;
+        return true;
+    }
+
+    public static void main(String[] args) {
+        try (ByteSource in = BurrowsIO.standardInput()) {
+            var index = new BlockStreamIndex(in);
+            long[] positions = index.locate(args[0]);
+            StdOut.println(positions.length);
+            for (long position : positions)
+                StdOut.println(position);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
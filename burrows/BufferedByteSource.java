@@ -0,0 +1,52 @@
+package burrows;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public abstract class BufferedByteSource implements ByteSource {
+    protected ByteBuffer buffer;
+
+    protected BufferedByteSource(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    protected abstract boolean refill() throws IOException;
+
+    @Override
+    public int read(byte[] target, int offset, int length) throws IOException {
+        int read = 0;
+        while (read < length && ensureAvailable()) {
+            int count = Math.min(length - read, buffer.remaining());
+            buffer.get(target, offset + read, count);
+            read += count;
+        }
+        return read;
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        if (buffer.remaining() >= Integer.BYTES)
+            return buffer.getInt();
+
+        int value = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            if (!ensureAvailable())
+                throw new EOFException("Reading an int past the end of input");
+            value = (value << 8) | (buffer.get() & 0xFF);
+        }
+        return value;
+    }
+
+    @Override
+    public boolean isEmpty() throws IOException {
+        return !ensureAvailable();
+    }
+
+    private boolean ensureAvailable() throws IOException {
+        while (!buffer.hasRemaining())
+            if (!refill())
+                return false;
+        return true;
+    }
+}
@@ -0,0 +1,94 @@
+package burrows;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class BurrowsArchiveReader implements Closeable {
+    private final FileChannel channel;
+    private final BlockIndex index;
+    private final BurrowsBlockCodec codec;
+
+    public BurrowsArchiveReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ArchiveHeader header = ArchiveHeader.parse(readAt(0, ArchiveHeader.SIZE));
+            index = readIndex();
+            codec = new BurrowsBlockCodec(header.getBlockSize(), header.getEntropyCoder());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private BlockIndex readIndex() throws IOException {
+        long size = channel.size();
+        if (size < ArchiveHeader.SIZE + BlockIndex.TRAILER_SIZE)
+            throw new IOException("Missing block index");
+
+        long indexOffset = BlockIndex.readIndexOffset(readAt(size - BlockIndex.TRAILER_SIZE, BlockIndex.TRAILER_SIZE));
+        if (indexOffset < ArchiveHeader.SIZE || indexOffset > size - BlockIndex.TRAILER_SIZE)
+            throw new IOException("Corrupt block index");
+        return BlockIndex.parse(readAt(indexOffset, Math.toIntExact(size - indexOffset)));
+    }
+
+    public long length() {
+        return index.uncompressedLength();
+    }
+
+    public byte[] read(long offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || offset + length > length())
+            throw new IllegalArgumentException("Range is outside the archive");
+
+        byte[] result = new byte[length];
+        int copied = 0;
+        while (copied < length) {
+            long position = offset + copied;
+            int block = index.findBlock(position);
+            byte[] original = readBlock(block);
+
+            int start = (int) (position - index.uncompressedOffset(block));
+            int count = Math.min(length - copied, original.length - start);
+            System.arraycopy(original, start, result, copied, count);
+            copied += count;
+        }
+        return result;
+    }
+
+    private byte[] readBlock(int block) throws IOException {
+        long frameOffset = index.compressedOffset(block);
+        int frameLength = readAt(frameOffset, Integer.BYTES).getInt();
+        byte[] frame = new byte[frameLength];
+        readAt(frameOffset + Integer.BYTES, frameLength).get(frame);
+
+        byte[] original = decode(frame, block);
+        if (original.length != index.length(block))
+            throw new IOException("Length mismatch in block " + block);
+        return original;
+    }
+
+    private byte[] decode(byte[] frame, int block) throws IOException {
+        try {
+            return codec.decode(frame);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt block " + block, e);
+        }
+    }
+
+    private ByteBuffer readAt(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining())
+            if (channel.read(buffer, position + buffer.position()) < 0)
+                throw new EOFException("Unexpected end of archive");
+        return buffer.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
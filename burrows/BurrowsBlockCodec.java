@@ -0,0 +1,109 @@
+package burrows;
+
+import java.util.zip.CRC32C;
+
+public class BurrowsBlockCodec implements BlockCodec {
+    private final int maxBlockSize;
+    private final EntropyCoder entropyCoder;
+    private final ThreadLocal<Workspace> workspaces;
+
+    public BurrowsBlockCodec(int maxBlockSize) {
+        this(maxBlockSize, EntropyCoder.HUFFMAN);
+    }
+
+    public BurrowsBlockCodec(int maxBlockSize, EntropyCoder entropyCoder) {
+        if (maxBlockSize <= 0)
+            throw new IllegalArgumentException("Block size must be positive");
+        if (entropyCoder == null)
+            throw new IllegalArgumentException("Entropy coder cannot be null");
+
+        this.maxBlockSize = maxBlockSize;
+        this.entropyCoder = entropyCoder;
+        this.workspaces = ThreadLocal.withInitial(() -> new Workspace(maxBlockSize));
+    }
+
+    @Override
+    public byte[] encode(byte[] block) {
+        return encodeWithChecksum(block).getFrame();
+    }
+
+    @Override
+    public EncodedBlock encodeWithChecksum(byte[] block) {
+        if (block.length > maxBlockSize)
+            throw new IllegalArgumentException("Block is larger than the codec block size");
+
+        Workspace workspace = workspaces.get();
+        int runLength = RunLengthEncoder.encode(block, block.length, workspace.runs);
+        int first = workspace.transformer().transform(workspace.runs, runLength, workspace.lastColumn);
+        new MoveToFrontEncoder().encode(workspace.lastColumn, runLength, workspace.lastColumn);
+
+        int symbolCount = ZeroRunEncoder.encode(workspace.lastColumn, runLength, workspace.symbols);
+
+        int checksum = BlockChecksum.of(block);
+        var out = new BitWriter(symbolCount / 2);
+        out.writeInt(block.length);
+        out.writeInt(checksum);
+        out.writeInt(runLength);
+        out.writeInt(first);
+        out.writeInt(symbolCount);
+        entropyCoder.encode(workspace.symbols, symbolCount, ZeroRunEncoder.ALPHABET_SIZE, out);
+        return new EncodedBlock(out.toByteArray(), block.length, checksum);
+    }
+
+    @Override
+    public byte[] decode(byte[] encodedBlock) {
+        var in = new BitReader(encodedBlock);
+        int length = in.readInt();
+        int checksum = in.readInt();
+        int runLength = in.readInt();
+        int first = in.readInt();
+        int symbolCount = in.readInt();
+        int capacity = RunLengthEncoder.maxEncodedLength(maxBlockSize);
+        if (length > maxBlockSize || runLength > capacity || symbolCount > runLength)
+            throw new IllegalStateException("Block is larger than the stream block size");
+
+        Workspace workspace = workspaces.get();
+        entropyCoder.decode(in, symbolCount, ZeroRunEncoder.ALPHABET_SIZE, workspace.symbols);
+        if (ZeroRunEncoder.decode(workspace.symbols, symbolCount, workspace.lastColumn) != runLength)
+            throw new IllegalStateException("Zero run decoding does not match the block header");
+
+        new MoveToFrontEncoder().decode(workspace.lastColumn, runLength, workspace.lastColumn);
+        workspace.inverseTransformer().inverseTransform(workspace.lastColumn, runLength, first, workspace.runs);
+
+        byte[] original = new byte[length];
+        var crc = new CRC32C();
+        if (RunLengthEncoder.decode(workspace.runs, runLength, original, crc) != length)
+            throw new IllegalStateException("Decoded block length does not match its header");
+        if ((int) crc.getValue() != checksum)
+            throw new IllegalStateException("Block checksum mismatch");
+        return original;
+    }
+
+    private static class Workspace {
+        private final int capacity;
+        private final byte[] runs;
+        private final byte[] lastColumn;
+        private final int[] symbols;
+        private BurrowsWheelerBlockTransformer transformer;
+        private BlockInverseTransformer inverseTransformer;
+
+        private Workspace(int maxBlockSize) {
+            capacity = RunLengthEncoder.maxEncodedLength(maxBlockSize);
+            runs = new byte[capacity];
+            lastColumn = new byte[capacity];
+            symbols = new int[capacity];
+        }
+
+        private BurrowsWheelerBlockTransformer transformer() {
+            if (transformer == null)
+                transformer = new BurrowsWheelerBlockTransformer(capacity);
+            return transformer;
+        }
+
+        private BlockInverseTransformer inverseTransformer() {
+            if (inverseTransformer == null)
+                inverseTransformer = BlockInverseTransformer.create(capacity);
+            return inverseTransformer;
+        }
+    }
+}
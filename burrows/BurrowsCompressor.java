@@ -0,0 +1,61 @@
+package burrows;
+
+import java.io.IOException;
+
+public class BurrowsCompressor {
+    private final int blockSize;
+    private final int parallelism;
+    private final EntropyCoder entropyCoder;
+
+    public BurrowsCompressor(int blockSize, int parallelism) {
+        this(blockSize, parallelism, EntropyCoder.HUFFMAN);
+    }
+
+    public BurrowsCompressor(int blockSize, int parallelism, EntropyCoder entropyCoder) {
+        if (blockSize <= 0 || parallelism <= 0)
+            throw new IllegalArgumentException("Block size and parallelism must be positive");
+        if (blockSize > BurrowsWheeler.MAX_BLOCK_SIZE)
+            throw new IllegalArgumentException("Block size cannot exceed " + BurrowsWheeler.MAX_BLOCK_SIZE);
+        if (entropyCoder == null)
+            throw new IllegalArgumentException("Entropy coder cannot be null");
+
+        this.blockSize = blockSize;
+        this.parallelism = parallelism;
+        this.entropyCoder = entropyCoder;
+    }
+
+    public void compress(ByteSource in, ByteSink out) throws IOException {
+        out.write(new ArchiveHeader(blockSize, entropyCoder).toByteArray());
+
+        var index = new BlockIndex(ArchiveHeader.SIZE);
+        var codec = new BurrowsBlockCodec(blockSize, entropyCoder);
+        try (var compressor = new ParallelBlockCompressor(blockSize, parallelism, codec)) {
+            compressor.compress(in, out, index);
+        }
+
+        out.write(index.toByteArray(index.endOffset() + ParallelBlockCompressor.END_OF_STREAM_SIZE));
+        out.flush();
+    }
+
+    public void decompress(ByteSource in, ByteSink out) throws IOException {
+        ArchiveHeader header = ArchiveHeader.read(in);
+
+        var codec = new BurrowsBlockCodec(header.getBlockSize(), header.getEntropyCoder());
+        try (var compressor = new ParallelBlockCompressor(header.getBlockSize(), parallelism, codec)) {
+            compressor.decompress(in, out);
+        }
+    }
+
+    public static void main(String[] args) {
+        String[] operands = BurrowsIO.withoutPathOptions(args);
+        int blockSize = operands.length > 1 ? Integer.parseInt(operands[1]) : BurrowsWheeler.DEFAULT_BLOCK_SIZE;
+        int parallelism = operands.length > 2 ? Integer.parseInt(operands[2]) : Runtime.getRuntime().availableProcessors();
+        EntropyCoder entropyCoder = operands.length > 3 ? EntropyCoder.valueOf(operands[3].toUpperCase()) : EntropyCoder.HUFFMAN;
+
+        var compressor = new BurrowsCompressor(blockSize, parallelism, entropyCoder);
+        if (operands[0].equals("-"))
+            BurrowsIO.runOnArguments(args, compressor::compress);
+        if (operands[0].equals("+"))
+            BurrowsIO.runOnArguments(args, compressor::decompress);
+    }
+}
@@ -0,0 +1,93 @@
+package burrows;
+
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+public class BurrowsIO {
+    public static final int BUFFER_SIZE = 1 << 16;
+    private static final long MAPPING_THRESHOLD = 1 << 24;
+    private static final String INPUT_FLAG = "-i";
+    private static final String OUTPUT_FLAG = "-o";
+
+    private BurrowsIO() {
+    }
+
+    public interface StreamTask {
+        void run(ByteSource in, ByteSink out) throws IOException;
+    }
+
+    public static void runOnStandardStreams(StreamTask task) {
+        runOnPaths(null, null, task);
+    }
+
+    public static void runOnPaths(Path input, Path output, StreamTask task) {
+        try (ByteSource in = input == null ? standardInput() : openFile(input);
+             ByteSink out = output == null ? standardOutput() : createFile(output)) {
+            task.run(in, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void runOnArguments(String[] args, StreamTask task) {
+        runOnPaths(pathOption(args, INPUT_FLAG), pathOption(args, OUTPUT_FLAG), task);
+    }
+
+    public static String[] withoutPathOptions(String[] args) {
+        var operands = new ArrayList<String>(args.length);
+        for (int i = 0; i < args.length; i++) {
+            if (isPathOption(args[i]))
+                i++;
+            else
+                operands.add(args[i]);
+        }
+        return operands.toArray(new String[0]);
+    }
+
+    private static Path pathOption(String[] args, String flag) {
+        Path path = null;
+        for (int i = 0; i < args.length; i++) {
+            if (!isPathOption(args[i]))
+                continue;
+            if (i + 1 == args.length)
+                throw new IllegalArgumentException("Missing path after " + args[i]);
+            if (args[i].equals(flag))
+                path = Paths.get(args[i + 1]);
+            i++;
+        }
+        return path;
+    }
+
+    private static boolean isPathOption(String arg) {
+        return arg.equals(INPUT_FLAG) || arg.equals(OUTPUT_FLAG);
+    }
+
+    public static ByteSource standardInput() {
+        return new ChannelByteSource(new FileInputStream(FileDescriptor.in).getChannel(), BUFFER_SIZE);
+    }
+
+    public static ByteSink standardOutput() {
+        return new ChannelByteSink(new FileOutputStream(FileDescriptor.out).getChannel(), BUFFER_SIZE);
+    }
+
+    public static ByteSource openFile(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        if (channel.size() >= MAPPING_THRESHOLD)
+            return new MappedByteSource(channel);
+        return new ChannelByteSource(channel, BUFFER_SIZE);
+    }
+
+    public static ByteSink createFile(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        return new ChannelByteSink(channel, BUFFER_SIZE);
+    }
+}
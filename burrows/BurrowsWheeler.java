@@ -1,48 +1,216 @@
 package burrows;
 
-import edu.princeton.cs.algs4.BinaryStdIn;
-import edu.princeton.cs.algs4.BinaryStdOut;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 
 public class BurrowsWheeler {
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+    public static final int MAX_BLOCK_SIZE = 1 << 28;
+    private static final String BLOCK_MODE_FLAG = "-b";
+    private static final int BLOCK_STREAM_MAGIC = 0x42575453;
+    private static final int BLOCK_STREAM_VERSION = 3;
+    private static final int UNCHECKED_HEADER_VERSION = 2;
+    private static final int SINGLE_STREAM_VERSION = 1;
+    private static final int HEADER_SIZE = 4 * Integer.BYTES;
+    private static final int END_OF_STREAM = 0;
+
     public static void transform() {
-        String input = BinaryStdIn.readString();
+        BurrowsIO.runOnStandardStreams(BurrowsWheeler::transform);
+    }
+
+    public static void transform(ByteSource in, ByteSink out) throws IOException {
+        byte[] input = in.readAll();
 
-        var bwt = new BurrowsWheelerTransformer(input);
-        outputFirst(bwt);
-        outputLastColumn(bwt);
+        var transformer = new BurrowsWheelerBlockTransformer(input.length);
+        byte[] lastColumn = new byte[input.length];
+        int first = transformer.transform(input, input.length, lastColumn);
+        out.writeInt(first);
+        out.write(lastColumn);
+
+        out.flush();
+    }
 
-        BinaryStdOut.close();
+    public static void transform(int blockSize) {
+        transform(blockSize, 1);
     }
 
-    private static void outputFirst(BurrowsWheelerTransformer bwt) {
-        int first = bwt.getFirst();
-        BinaryStdOut.write(first);
+    public static void transform(int blockSize, int streams) {
+        BurrowsIO.runOnStandardStreams((in, out) -> transform(in, out, blockSize, streams));
     }
 
-    private static void outputLastColumn(BurrowsWheelerTransformer bwt) {
-        String lastColumn = bwt.getLastColumn();
-        BinaryStdOut.write(lastColumn);
+    public static void transform(ByteSource in, ByteSink out, int blockSize) throws IOException {
+        transform(in, out, blockSize, 1);
+    }
+
+    public static void transform(ByteSource in, ByteSink out, int blockSize, int streams) throws IOException {
+        if (blockSize <= 0 || blockSize > MAX_BLOCK_SIZE)
+            throw new IllegalArgumentException("Block size must be between 1 and " + MAX_BLOCK_SIZE);
+        if (streams <= 0 || streams > blockSize)
+            throw new IllegalArgumentException("Stream count must be between 1 and the block size");
+
+        byte[] header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(BLOCK_STREAM_MAGIC)
+                .putInt(BLOCK_STREAM_VERSION)
+                .putInt(blockSize)
+                .putInt(streams)
+                .array();
+        out.write(header);
+        out.writeInt(BlockChecksum.of(header));
+
+        var transformer = new BurrowsWheelerBlockTransformer(blockSize);
+        byte[] block = new byte[blockSize];
+        byte[] lastColumn = new byte[blockSize];
+        int[] startRows = new int[streams];
+        int length;
+        while ((length = in.read(block)) > 0) {
+            int first = transformer.transform(block, length, lastColumn, startRows);
+            out.writeInt(length);
+            out.writeInt(first);
+            out.writeInt(BlockChecksum.of(block, length));
+            for (int k = 1; k < streams; k++)
+                out.writeInt(startRows[k]);
+            out.write(lastColumn, 0, length);
+        }
+        out.writeInt(END_OF_STREAM);
+
+        out.flush();
     }
 
     public static void inverseTransform() {
-        int first = BinaryStdIn.readInt();
-        String lastColumn = BinaryStdIn.readString();
+        BurrowsIO.runOnStandardStreams(BurrowsWheeler::inverseTransform);
+    }
+
+    public static void inverseTransform(ByteSource in, ByteSink out) throws IOException {
+        int first = in.readInt();
+        byte[] lastColumn = in.readAll();
+
+        byte[] original = new byte[lastColumn.length];
+        BlockInverseTransformer.create(lastColumn.length).inverseTransform(lastColumn, lastColumn.length, first, original);
+        out.write(original);
+
+        out.flush();
+    }
+
+    public static void inverseTransformBlocks() {
+        BurrowsIO.runOnStandardStreams(BurrowsWheeler::inverseTransformBlocks);
+    }
+
+    public static void inverseTransformBlocks(ByteSource in, ByteSink out) throws IOException {
+        readBlocks(in, new BlockVisitor() {
+            private BlockInverseTransformer inverseTransformer;
+            private byte[] original;
 
-        var bwit = new BurrowsWheelerInverseTransformer(lastColumn);
-        outputOriginal(bwit, first);
+            @Override
+            public void start(int blockSize, int streams) {
+                inverseTransformer = createInverseTransformer(blockSize, streams);
+                original = new byte[blockSize];
+            }
+
+            @Override
+            public void visit(int block, byte[] lastColumn, int length, int[] startRows, int checksum)
+                    throws IOException {
+                if (inverseTransform(inverseTransformer, lastColumn, length, startRows, original) != checksum)
+                    throw new IOException("Checksum mismatch in block " + block);
+                out.write(original, 0, length);
+            }
+        });
+
+        out.flush();
+    }
+
+    interface BlockVisitor {
+        void start(int blockSize, int streams);
+
+        void visit(int block, byte[] lastColumn, int length, int[] startRows, int checksum) throws IOException;
+    }
+
+    static void readBlocks(ByteSource in, BlockVisitor visitor) throws IOException {
+        int magic = in.readInt();
+        int version = in.readInt();
+        if (magic != BLOCK_STREAM_MAGIC)
+            throw new IOException("Not a Burrows-Wheeler block stream");
+        if (version != BLOCK_STREAM_VERSION && version != UNCHECKED_HEADER_VERSION && version != SINGLE_STREAM_VERSION)
+            throw new IOException("Unsupported block stream version");
+        int blockSize = in.readInt();
+        int streams = version == SINGLE_STREAM_VERSION ? 1 : in.readInt();
+        if (version == BLOCK_STREAM_VERSION) {
+            byte[] header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(magic)
+                    .putInt(version)
+                    .putInt(blockSize)
+                    .putInt(streams)
+                    .array();
+            if (in.readInt() != BlockChecksum.of(header))
+                throw new IOException("Corrupt block stream header");
+        }
+        if (blockSize <= 0 || blockSize > MAX_BLOCK_SIZE || streams <= 0 || streams > blockSize)
+            throw new IOException("Invalid block stream header");
+
+        visitor.start(blockSize, streams);
+        byte[] lastColumn = new byte[blockSize];
+        int[] startRows = new int[streams];
+        int length;
+        for (int block = 0; (length = in.readInt()) != END_OF_STREAM; block++) {
+            int first = in.readInt();
+            int checksum = in.readInt();
+            if (length < 0 || length > blockSize || first < 0 || first >= length)
+                throw new IOException("Corrupt header in block " + block);
+
+            startRows[0] = first;
+            for (int k = 1; k < streams; k++)
+                startRows[k] = in.readInt();
+            readBlockFully(in, lastColumn, length);
+            visitor.visit(block, lastColumn, length, startRows, checksum);
+        }
+    }
+
+    private static BlockInverseTransformer createInverseTransformer(int blockSize, int streams) {
+        return streams > 1 ? new ParallelBlockInverseTransformer(blockSize) : BlockInverseTransformer.create(blockSize);
+    }
+
+    private static int inverseTransform(BlockInverseTransformer inverseTransformer, byte[] lastColumn, int length,
+                                        int[] startRows, byte[] original) throws IOException {
+        try {
+            return inverseTransformer.inverseTransformWithChecksum(lastColumn, length, startRows, original);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt start rows", e);
+        }
+    }
+
+    private static void readBlockFully(ByteSource in, byte[] block, int length) throws IOException {
+        if (in.read(block, 0, length) != length)
+            throw new EOFException("Truncated block");
+    }
+
+    private static boolean isBlockMode(String[] args) {
+        return args.length > 1 && args[1].equals(BLOCK_MODE_FLAG);
+    }
 
-        BinaryStdOut.close();
+    private static int parseBlockSize(String[] args) {
+        return args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_BLOCK_SIZE;
     }
 
-    private static void outputOriginal(BurrowsWheelerInverseTransformer bwit, int first) {
-        String original = bwit.inverseTransform(first);
-        BinaryStdOut.write(original);
+    private static int parseStreams(String[] args) {
+        return args.length > 3 ? Integer.parseInt(args[3]) : 1;
     }
 
     public static void main(String[] args) {
-        if (args[0].equals("-"))
-            BurrowsWheeler.transform();
-        if (args[0].equals("+"))
-            BurrowsWheeler.inverseTransform();
+        String[] operands = BurrowsIO.withoutPathOptions(args);
+        if (operands[0].equals("-")) {
+            if (isBlockMode(operands)) {
+                int blockSize = parseBlockSize(operands);
+                int streams = parseStreams(operands);
+                BurrowsIO.runOnArguments(args, (in, out) -> transform(in, out, blockSize, streams));
+            } else {
+                BurrowsIO.runOnArguments(args, BurrowsWheeler::transform);
+            }
+        }
+        if (operands[0].equals("+")) {
+            if (isBlockMode(operands))
+                BurrowsIO.runOnArguments(args, BurrowsWheeler::inverseTransformBlocks);
+            else
+                BurrowsIO.runOnArguments(args, BurrowsWheeler::inverseTransform);
+        }
     }
-}
\ No newline at end of file
+}
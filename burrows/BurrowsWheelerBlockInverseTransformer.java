@@ -0,0 +1,119 @@
+package burrows;
+
+import java.nio.ByteBuffer;
+
+public class BurrowsWheelerBlockInverseTransformer implements BlockInverseTransformer, ChainDecoder {
+    private final int[] next;
+    private final FrequencyCounter frequencyCounter = new FrequencyCounter();
+    private final ChunkedChecksum checksum = new ChunkedChecksum();
+    private FrequencyCounter symbolCounter;
+
+    public BurrowsWheelerBlockInverseTransformer(int maxBlockSize) {
+        if (maxBlockSize < 0)
+            throw new IllegalArgumentException();
+
+        next = new int[maxBlockSize];
+    }
+
+    @Override
+    public int maxBlockSize() {
+        return next.length;
+    }
+
+    @Override
+    public void inverseTransform(byte[] lastColumn, int length, int first, byte[] original) {
+        checkLength(length, lastColumn.length, original.length, first);
+
+        buildNext(lastColumn, length);
+
+        int row = first;
+        for (int i = 0; i < length; i++) {
+            row = next[row];
+            original[i] = lastColumn[row];
+        }
+    }
+
+    @Override
+    public int inverseTransformWithChecksum(byte[] lastColumn, int length, int first, byte[] original) {
+        checkLength(length, lastColumn.length, original.length, first);
+
+        buildNext(lastColumn, length);
+        checksum.reset(length);
+        decodeChain(lastColumn, first, 0, length, original, checksum);
+        return checksum.finish(original);
+    }
+
+    @Override
+    public void buildChains(byte[] lastColumn, int length) {
+        buildNext(lastColumn, length);
+    }
+
+    @Override
+    public int decodeChain(byte[] lastColumn, int row, int from, int to, byte[] original) {
+        for (int i = from; i < to; i++) {
+            row = next[row];
+            original[i] = lastColumn[row];
+        }
+        return row;
+    }
+
+    public void inverseTransform(int[] lastColumn, int length, int alphabetSize, int first, int[] original) {
+        checkLength(length, lastColumn.length, original.length, first);
+
+        FrequencyCounter counter = counterFor(alphabetSize);
+        counter.count(lastColumn, length);
+        for (int i = 0; i < length; i++)
+            next[counter.get(lastColumn[i])] = i;
+
+        int row = first;
+        for (int i = 0; i < length; i++) {
+            row = next[row];
+            original[i] = lastColumn[row];
+        }
+    }
+
+    private FrequencyCounter counterFor(int alphabetSize) {
+        if (alphabetSize == Alphabet.R)
+            return frequencyCounter;
+        if (symbolCounter == null || symbolCounter.radix() != alphabetSize)
+            symbolCounter = new FrequencyCounter(alphabetSize);
+        return symbolCounter;
+    }
+
+    public void inverseTransform(ByteBuffer lastColumn, int first, ByteBuffer original) {
+        int length = lastColumn.remaining();
+        checkLength(length, length, original.remaining(), first);
+
+        int start = lastColumn.position();
+        buildNext(lastColumn, start, length);
+
+        int target = original.position();
+        int row = first;
+        for (int i = 0; i < length; i++) {
+            row = next[row];
+            original.put(target + i, lastColumn.get(start + row));
+        }
+
+        lastColumn.position(start + length);
+        original.position(target + length);
+    }
+
+    private void buildNext(byte[] lastColumn, int length) {
+        frequencyCounter.count(lastColumn, length);
+        for (int i = 0; i < length; i++)
+            next[frequencyCounter.get(lastColumn[i] & 0xFF)] = i;
+    }
+
+    private void buildNext(ByteBuffer lastColumn, int start, int length) {
+        frequencyCounter.count(lastColumn, start, length);
+        for (int i = 0; i < length; i++)
+            next[frequencyCounter.get(lastColumn.get(start + i) & 0xFF)] = i;
+    }
+
+    private void checkLength(int length, int lastColumnCapacity, int originalCapacity, int first) {
+        if (length < 0 || length > next.length || length > lastColumnCapacity || length > originalCapacity)
+            throw new IllegalArgumentException("Block does not fit into the inverse transformer buffers");
+        if (length > 0 && (first < 0 || first >= length))
+            throw new IllegalArgumentException("First row is outside the block");
+    }
+}
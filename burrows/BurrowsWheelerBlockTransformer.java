@@ -0,0 +1,124 @@
+package burrows;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class BurrowsWheelerBlockTransformer {
+    private final CircularSuffixSorter sorter;
+    private final int[] text;
+    private final int[] rotations;
+
+    public BurrowsWheelerBlockTransformer(int maxBlockSize) {
+        this(maxBlockSize, new SaisCircularSuffixSorter());
+    }
+
+    public BurrowsWheelerBlockTransformer(int maxBlockSize, CircularSuffixSorter sorter) {
+        if (maxBlockSize < 0 || sorter == null)
+            throw new IllegalArgumentException();
+
+        this.sorter = sorter;
+        sorter.reserve(maxBlockSize, Alphabet.R);
+        text = new int[maxBlockSize];
+        rotations = new int[maxBlockSize];
+    }
+
+    public int maxBlockSize() {
+        return text.length;
+    }
+
+    public int transform(byte[] block, int length, byte[] lastColumn) {
+        checkLength(length, block.length, lastColumn.length);
+
+        for (int i = 0; i < length; i++)
+            text[i] = block[i] & 0xFF;
+        sorter.sort(text, length, Alphabet.R, rotations);
+
+        int first = -1;
+        for (int i = 0; i < length; i++) {
+            int rotation = rotations[i];
+            if (rotation == 0)
+                first = i;
+            lastColumn[i] = (byte) text[getCircularPreviousIndex(rotation, length)];
+        }
+        return first;
+    }
+
+    public int transform(byte[] block, int length, byte[] lastColumn, int[] startRows) {
+        checkLength(length, block.length, lastColumn.length);
+
+        for (int i = 0; i < length; i++)
+            text[i] = block[i] & 0xFF;
+        sorter.sort(text, length, Alphabet.R, rotations);
+
+        int segmentShift = segmentShift(length, startRows.length);
+        long segmentMask = (1L << segmentShift) - 1;
+        Arrays.fill(startRows, -1);
+
+        int first = -1;
+        for (int i = 0; i < length; i++) {
+            int rotation = rotations[i];
+            if (rotation == 0)
+                first = i;
+            if ((rotation & segmentMask) == 0)
+                startRows[rotation >>> segmentShift] = i;
+            lastColumn[i] = (byte) text[getCircularPreviousIndex(rotation, length)];
+        }
+        return first;
+    }
+
+    static int segmentShift(int length, int streams) {
+        if (streams <= 0)
+            throw new IllegalArgumentException("Stream count must be positive");
+
+        long segment = ((long) length + streams - 1) / streams;
+        return segment <= 1 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(segment - 1);
+    }
+
+    public int transform(int[] block, int length, int alphabetSize, int[] lastColumn) {
+        checkLength(length, block.length, lastColumn.length);
+
+        System.arraycopy(block, 0, text, 0, length);
+        sorter.sort(text, length, alphabetSize, rotations);
+
+        int first = -1;
+        for (int i = 0; i < length; i++) {
+            int rotation = rotations[i];
+            if (rotation == 0)
+                first = i;
+            lastColumn[i] = text[getCircularPreviousIndex(rotation, length)];
+        }
+        return first;
+    }
+
+    public int transform(ByteBuffer block, ByteBuffer lastColumn) {
+        int length = block.remaining();
+        checkLength(length, length, lastColumn.remaining());
+
+        int start = block.position();
+        for (int i = 0; i < length; i++)
+            text[i] = block.get(start + i) & 0xFF;
+        sorter.sort(text, length, Alphabet.R, rotations);
+
+        int first = -1;
+        int target = lastColumn.position();
+        for (int i = 0; i < length; i++) {
+            int rotation = rotations[i];
+            if (rotation == 0)
+                first = i;
+            lastColumn.put(target + i, (byte) text[getCircularPreviousIndex(rotation, length)]);
+        }
+
+        block.position(start + length);
+        lastColumn.position(target + length);
+        return first;
+    }
+
+    private void checkLength(int length, int blockCapacity, int lastColumnCapacity) {
+        if (length < 0 || length > text.length || length > blockCapacity || length > lastColumnCapacity)
+            throw new IllegalArgumentException("Block does not fit into the transformer buffers");
+    }
+
+    private static int getCircularPreviousIndex(int index, int length) {
+        return index == 0 ? length - 1 : index - 1;
+    }
+}
@@ -3,17 +3,33 @@ package burrows;
 public class BurrowsWheelerInverseTransformer {
     private final int[] next;
     private final char[] firstColumn;
+    private final FrequencyCounter frequencyCounter = new FrequencyCounter();
+    private int length;
 
     public BurrowsWheelerInverseTransformer(String lastColumn){
-        next = new int[lastColumn.length()];
-        firstColumn = new char[lastColumn.length()];
+        this(lastColumn.length());
+        load(lastColumn);
+    }
+
+    public BurrowsWheelerInverseTransformer(int maxLength) {
+        if (maxLength < 0)
+            throw new IllegalArgumentException();
 
-        FrequencyCounter frequencyCounter = new FrequencyCounter(lastColumn);
-        moveData(lastColumn, frequencyCounter);
+        next = new int[maxLength];
+        firstColumn = new char[maxLength];
     }
 
-    private void moveData(String lastColumn, FrequencyCounter frequencyCounter) {
-        for (int i = 0; i < firstColumn.length; i++) {
+    public void load(String lastColumn) {
+        if (lastColumn.length() > next.length)
+            throw new IllegalArgumentException("Last column does not fit into the inverse transformer buffers");
+
+        length = lastColumn.length();
+        frequencyCounter.count(lastColumn);
+        moveData(lastColumn);
+    }
+
+    private void moveData(String lastColumn) {
+        for (int i = 0; i < length; i++) {
             int index = frequencyCounter.get(lastColumn.charAt(i));
             firstColumn[index] = lastColumn.charAt(i);
             next[index] = i;
@@ -21,11 +37,16 @@ public class BurrowsWheelerInverseTransformer {
     }
 
     public String inverseTransform(int first) {
-        StringBuilder result = new StringBuilder();
-        for (int i = 0; i < next.length; i++) {
+        StringBuilder result = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
             result.append(firstColumn[first]);
             first = next[first];
         }
         return result.toString();
     }
-}
\ No newline at end of file
+
+    public String inverseTransform(String lastColumn, int first) {
+        load(lastColumn);
+        return inverseTransform(first);
+    }
+}
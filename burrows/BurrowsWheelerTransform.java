@@ -0,0 +1,19 @@
+package burrows;
+
+public class BurrowsWheelerTransform {
+    private final int first;
+    private final String lastColumn;
+
+    public BurrowsWheelerTransform(int first, String lastColumn) {
+        this.first = first;
+        this.lastColumn = lastColumn;
+    }
+
+    public int getFirst() {
+        return first;
+    }
+
+    public String getLastColumn() {
+        return lastColumn;
+    }
+}
@@ -1,40 +1,39 @@
 package burrows;
 
 public class BurrowsWheelerTransformer {
-    private final CircularSuffixArray csa;
-    private final String original;
+    private final BurrowsWheelerTransform transform;
 
     public BurrowsWheelerTransformer(String original) {
-        this.original = original;
-        csa = new CircularSuffixArray(original);
+        transform = transform(original);
     }
 
-    public int getFirst() {
-        return findFirst();
+    public static BurrowsWheelerTransform transform(String original) {
+        var csa = new CircularSuffixArray(original);
+
+        int first = -1;
+        char[] lastColumn = new char[original.length()];
+        for (int i = 0; i < lastColumn.length; i++) {
+            int index = csa.index(i);
+            if (index == 0)
+                first = i;
+            lastColumn[i] = original.charAt(getCircularPreviousIndex(index, lastColumn.length));
+        }
+        return new BurrowsWheelerTransform(first, new String(lastColumn));
     }
 
-    private int findFirst() {
-        for (int i = 0; i < csa.length(); i++)
-            if (csa.index(i) == 0)
-                return i;
+    public BurrowsWheelerTransform getTransform() {
+        return transform;
+    }
 
-        return -1;
+    public int getFirst() {
+        return transform.getFirst();
     }
 
     public String getLastColumn() {
-        StringBuilder result = new StringBuilder();
-        for (int i = 0; i < original.length(); i++) {
-            int circularPreviousIndex = getCircularPreviousIndex(csa.index(i), original.length());
-            result.append(original.charAt(circularPreviousIndex));
-        }
-        return result.toString();
+        return transform.getLastColumn();
     }
 
     private static int getCircularPreviousIndex(int index, int length) {
-        int circularPreviousIndex = index - 1;
-        if (circularPreviousIndex < 0)
-            circularPreviousIndex = length - 1;
-
-        return circularPreviousIndex;
+        return index == 0 ? length - 1 : index - 1;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package burrows;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+
+public interface ByteSink extends Closeable, Flushable {
+    void write(byte[] buffer, int offset, int length) throws IOException;
+
+    void writeInt(int value) throws IOException;
+
+    default void write(byte[] buffer) throws IOException {
+        write(buffer, 0, buffer.length);
+    }
+}
@@ -0,0 +1,29 @@
+package burrows;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+
+public interface ByteSource extends Closeable {
+    int read(byte[] buffer, int offset, int length) throws IOException;
+
+    int readInt() throws IOException;
+
+    boolean isEmpty() throws IOException;
+
+    default int read(byte[] buffer) throws IOException {
+        return read(buffer, 0, buffer.length);
+    }
+
+    default byte[] readAll() throws IOException {
+        byte[] result = new byte[1 << 16];
+        int length = 0;
+        int count;
+        while ((count = read(result, length, result.length - length)) > 0) {
+            length += count;
+            if (length == result.length)
+                result = Arrays.copyOf(result, Math.multiplyExact(result.length, 2));
+        }
+        return Arrays.copyOf(result, length);
+    }
+}
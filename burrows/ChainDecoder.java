@@ -0,0 +1,18 @@
+package burrows;
+
+interface ChainDecoder {
+    void buildChains(byte[] lastColumn, int length);
+
+    int decodeChain(byte[] lastColumn, int row, int from, int to, byte[] original);
+
+    default int decodeChain(byte[] lastColumn, int row, int from, int to, byte[] original,
+                            ChunkedChecksum checksum) {
+        for (int start = from; start < to; ) {
+            int end = Math.min(checksum.chunkEnd(start), to);
+            row = decodeChain(lastColumn, row, start, end, original);
+            checksum.record(original, start, end);
+            start = end;
+        }
+        return row;
+    }
+}
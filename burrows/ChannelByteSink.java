@@ -0,0 +1,52 @@
+package burrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+public class ChannelByteSink implements ByteSink {
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+
+    public ChannelByteSink(WritableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    @Override
+    public void write(byte[] source, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (!buffer.hasRemaining())
+                drain();
+            int count = Math.min(length, buffer.remaining());
+            buffer.put(source, offset, count);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    @Override
+    public void writeInt(int value) throws IOException {
+        if (buffer.remaining() < Integer.BYTES)
+            drain();
+        buffer.putInt(value);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+}
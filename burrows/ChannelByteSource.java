@@ -0,0 +1,27 @@
+package burrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+public class ChannelByteSource extends BufferedByteSource {
+    private final ReadableByteChannel channel;
+
+    public ChannelByteSource(ReadableByteChannel channel, int bufferSize) {
+        super(ByteBuffer.allocateDirect(bufferSize).flip());
+        this.channel = channel;
+    }
+
+    @Override
+    protected boolean refill() throws IOException {
+        buffer.clear();
+        int count = channel.read(buffer);
+        buffer.flip();
+        return count >= 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,58 @@
+package burrows;
+
+import java.util.Arrays;
+
+class ChunkedChecksum {
+    static final int CHUNK_SHIFT = 15;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int[] CHUNK_OPERATOR = BlockChecksum.appendOperator(CHUNK_SIZE);
+
+    private int[] sums = new int[0];
+    private boolean[] recorded = new boolean[0];
+    private int length;
+
+    void reset(int length) {
+        int chunks = chunkCount(length);
+        if (sums.length < chunks) {
+            sums = new int[chunks];
+            recorded = new boolean[chunks];
+        }
+        Arrays.fill(recorded, 0, chunks, false);
+        this.length = length;
+    }
+
+    static int chunkStart(int position) {
+        return position & -CHUNK_SIZE;
+    }
+
+    int chunkEnd(int position) {
+        return (int) Math.min(((long) (position >>> CHUNK_SHIFT) + 1) << CHUNK_SHIFT, length);
+    }
+
+    void record(byte[] data, int from, int to) {
+        if (chunkStart(from) != from || to != chunkEnd(from))
+            return;
+
+        int chunk = from >>> CHUNK_SHIFT;
+        sums[chunk] = BlockChecksum.of(data, from, to - from);
+        recorded[chunk] = true;
+    }
+
+    int finish(byte[] data) {
+        int checksum = 0;
+        for (int chunk = 0, chunks = chunkCount(length); chunk < chunks; chunk++) {
+            int from = chunk << CHUNK_SHIFT;
+            int to = chunkEnd(from);
+            int sum = recorded[chunk] ? sums[chunk] : BlockChecksum.of(data, from, to - from);
+            if (to - from == CHUNK_SIZE)
+                checksum = BlockChecksum.apply(CHUNK_OPERATOR, checksum) ^ sum;
+            else
+                checksum = BlockChecksum.combine(checksum, sum, to - from);
+        }
+        return checksum;
+    }
+
+    private static int chunkCount(int length) {
+        return (int) (((long) length + CHUNK_SIZE - 1) >>> CHUNK_SHIFT);
+    }
+}
@@ -1,38 +1,46 @@
 package burrows;
 
-import java.util.Arrays;
-
 public class CircularSuffixArray {
     private final int length;
-    private final Integer[] indexArr;
+    private final int[] indexArr;
 
     public CircularSuffixArray(String s) {
-        if (s == null)
+        this(s, new SaisCircularSuffixSorter());
+    }
+
+    public CircularSuffixArray(String s, CircularSuffixSorter sorter) {
+        if (s == null || sorter == null)
             throw new IllegalArgumentException();
 
         length = s.length();
-        indexArr = new Integer[length];
+        indexArr = new int[length];
 
-        initializeIndexArr();
-        sortIndexArr(s);
+        int[] text = toSymbols(s);
+        sorter.sort(text, length, computeAlphabetSize(text), indexArr);
     }
 
-    private void initializeIndexArr() {
-        for (int i = 0; i < length; i++)
-            indexArr[i] = i;
+    public CircularSuffixArray(int[] text, int length, int alphabetSize, CircularSuffixSorter sorter) {
+        if (text == null || sorter == null || length < 0 || length > text.length)
+            throw new IllegalArgumentException();
+
+        this.length = length;
+        indexArr = new int[length];
+
+        sorter.sort(text, length, alphabetSize, indexArr);
     }
 
-    private void sortIndexArr(String s) {
-        Arrays.sort(indexArr, (x, y) -> {
-            for (int i = 0; i < length; i++) {
-                char cx = s.charAt((i + x) % length);
-                char cy = s.charAt((i + y) % length);
+    private static int[] toSymbols(String s) {
+        int[] text = new int[s.length()];
+        for (int i = 0; i < text.length; i++)
+            text[i] = s.charAt(i);
+        return text;
+    }
 
-                if (cx != cy)
-                    return Character.compare(cx, cy);
-            }
-            return 0;
-        });
+    private static int computeAlphabetSize(int[] text) {
+        int alphabetSize = Alphabet.R;
+        for (int symbol : text)
+            alphabetSize = Math.max(alphabetSize, symbol + 1);
+        return alphabetSize;
     }
 
     public int length() {
@@ -52,4 +60,4 @@ public class CircularSuffixArray {
 
     public static void main(String[] args) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,8 @@
+package burrows;
+
+public interface CircularSuffixSorter {
+    void sort(int[] text, int length, int alphabetSize, int[] rotations);
+
+    default void reserve(int maxLength, int alphabetSize) {
+    }
+}
@@ -0,0 +1,28 @@
+package burrows;
+
+import java.util.Arrays;
+
+public class ComparisonCircularSuffixSorter implements CircularSuffixSorter {
+    @Override
+    public void sort(int[] text, int length, int alphabetSize, int[] rotations) {
+        Integer[] indexArr = new Integer[length];
+        for (int i = 0; i < length; i++)
+            indexArr[i] = i;
+
+        Arrays.sort(indexArr, (x, y) -> compareRotations(text, length, x, y));
+
+        for (int i = 0; i < length; i++)
+            rotations[i] = indexArr[i];
+    }
+
+    private static int compareRotations(int[] text, int length, int x, int y) {
+        for (int i = 0; i < length; i++) {
+            int cx = text[(i + x) % length];
+            int cy = text[(i + y) % length];
+
+            if (cx != cy)
+                return Integer.compare(cx, cy);
+        }
+        return 0;
+    }
+}
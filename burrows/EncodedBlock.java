@@ -0,0 +1,25 @@
+package burrows;
+
+public class EncodedBlock {
+    private final byte[] frame;
+    private final int length;
+    private final int checksum;
+
+    public EncodedBlock(byte[] frame, int length, int checksum) {
+        this.frame = frame;
+        this.length = length;
+        this.checksum = checksum;
+    }
+
+    public byte[] getFrame() {
+        return frame;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public int getChecksum() {
+        return checksum;
+    }
+}
@@ -0,0 +1,47 @@
+package burrows;
+
+public enum EntropyCoder {
+    HUFFMAN(1) {
+        @Override
+        public void encode(int[] symbols, int count, int alphabetSize, BitWriter out) {
+            HuffmanCoder.encode(symbols, count, alphabetSize, out);
+        }
+
+        @Override
+        public void decode(BitReader in, int count, int alphabetSize, int[] symbols) {
+            HuffmanCoder.decode(in, count, alphabetSize, symbols);
+        }
+    },
+    RANGE(2) {
+        @Override
+        public void encode(int[] symbols, int count, int alphabetSize, BitWriter out) {
+            RangeCoder.encode(symbols, count, alphabetSize, out);
+        }
+
+        @Override
+        public void decode(BitReader in, int count, int alphabetSize, int[] symbols) {
+            RangeCoder.decode(in, count, alphabetSize, symbols);
+        }
+    };
+
+    private final byte id;
+
+    EntropyCoder(int id) {
+        this.id = (byte) id;
+    }
+
+    public byte id() {
+        return id;
+    }
+
+    public abstract void encode(int[] symbols, int count, int alphabetSize, BitWriter out);
+
+    public abstract void decode(BitReader in, int count, int alphabetSize, int[] symbols);
+
+    public static EntropyCoder fromId(byte id) {
+        for (EntropyCoder coder : values())
+            if (coder.id == id)
+                return coder;
+        throw new IllegalArgumentException("Unknown entropy coder id " + id);
+    }
+}
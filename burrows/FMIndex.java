@@ -0,0 +1,258 @@
+package burrows;
+
+import edu.princeton.cs.algs4.StdOut;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class FMIndex {
+    private static final int BLOCK_SHIFT = 9;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final int SUPERBLOCK_SHIFT = 16;
+    private static final int DEFAULT_POSITION_SAMPLE_RATE = 32;
+
+    private final int length;
+    private final byte[] lastColumn;
+    private final int[] countLessThan = new int[Alphabet.R];
+    private final int first;
+    private final int[] superblockCounts;
+    private final char[] blockCounts;
+    private final int positionSampleRate;
+    private final long[] sampledRows;
+    private final int[] sampledRowRanks;
+    private int[] sampledPositions;
+
+    public FMIndex(BurrowsWheelerTransform transform) {
+        this(transform.getLastColumn().getBytes(StandardCharsets.ISO_8859_1), transform.getLastColumn().length(),
+                transform.getFirst(), DEFAULT_POSITION_SAMPLE_RATE);
+    }
+
+    public FMIndex(byte[] lastColumn, int length, int first) {
+        this(lastColumn, length, first, DEFAULT_POSITION_SAMPLE_RATE);
+    }
+
+    public FMIndex(byte[] lastColumn, int length, int first, int positionSampleRate) {
+        if (length < 0 || length > lastColumn.length || (length > 0 && (first < 0 || first >= length)))
+            throw new IllegalArgumentException("Invalid Burrows-Wheeler block");
+        if (positionSampleRate <= 0)
+            throw new IllegalArgumentException("Sample rate must be positive");
+
+        this.length = length;
+        this.lastColumn = Arrays.copyOf(lastColumn, length);
+        this.first = first;
+        this.positionSampleRate = positionSampleRate;
+
+        var frequencyCounter = new FrequencyCounter(lastColumn, length);
+        for (int c = 0; c < Alphabet.R; c++)
+            countLessThan[c] = frequencyCounter.countLessThan(c);
+
+        superblockCounts = new int[((length >>> SUPERBLOCK_SHIFT) + 1) * Alphabet.R];
+        blockCounts = new char[((length >>> BLOCK_SHIFT) + 1) * Alphabet.R];
+        buildOccurrenceCounts();
+        sampledRows = new long[(length + Long.SIZE - 1) / Long.SIZE];
+        sampledRowRanks = new int[sampledRows.length + 1];
+        samplePositions(first);
+    }
+
+    private void buildOccurrenceCounts() {
+        int[] running = new int[Alphabet.R];
+        for (int i = 0; i <= length; i++) {
+            if ((i & (BLOCK_SIZE - 1)) == 0) {
+                int superblock = (i >>> SUPERBLOCK_SHIFT) * Alphabet.R;
+                if ((i & ((1 << SUPERBLOCK_SHIFT) - 1)) == 0)
+                    System.arraycopy(running, 0, superblockCounts, superblock, Alphabet.R);
+                int block = (i >>> BLOCK_SHIFT) * Alphabet.R;
+                for (int c = 0; c < Alphabet.R; c++)
+                    blockCounts[block + c] = (char) (running[c] - superblockCounts[superblock + c]);
+            }
+            if (i < length)
+                running[lastColumn[i] & 0xFF]++;
+        }
+    }
+
+    private void samplePositions(int first) {
+        int[] lf = buildLastToFirst();
+        int period = cycleLength(lf, first);
+
+        int[] rows = new int[length / positionSampleRate + 1 + 2 * (length / Math.max(period, 1))];
+        int[] positions = new int[rows.length];
+        int samples = 0;
+        for (int cycle = 0; cycle * period < length; cycle++) {
+            int row = first + cycle;
+            int position = cycle * period;
+            for (int step = 0; step < period; step++) {
+                if (step == 0 || step == period - 1 || position % positionSampleRate == 0) {
+                    rows[samples] = row;
+                    positions[samples++] = position;
+                    sampledRows[row / Long.SIZE] |= 1L << row;
+                }
+                row = lf[row];
+                position = position == 0 ? length - 1 : position - 1;
+            }
+        }
+
+        for (int i = 0; i < sampledRows.length; i++)
+            sampledRowRanks[i + 1] = sampledRowRanks[i] + Long.bitCount(sampledRows[i]);
+
+        sampledPositions = new int[samples];
+        for (int i = 0; i < samples; i++)
+            sampledPositions[sampledRank(rows[i])] = positions[i];
+    }
+
+    private int cycleLength(int[] lf, int first) {
+        if (length == 0)
+            return 0;
+
+        int steps = 1;
+        for (int row = lf[first]; row != first; row = lf[row])
+            steps++;
+        return steps;
+    }
+
+    private int[] buildLastToFirst() {
+        int[] next = countLessThan.clone();
+        int[] lf = new int[length];
+        for (int i = 0; i < length; i++)
+            lf[i] = next[lastColumn[i] & 0xFF]++;
+        return lf;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public int count(String pattern) {
+        return count(pattern.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    public int count(byte[] pattern) {
+        int[] range = findRange(pattern);
+        return range[1] - range[0];
+    }
+
+    public int[] locate(String pattern) {
+        return locate(pattern.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    public int[] locate(byte[] pattern) {
+        int[] range = findRange(pattern);
+        int[] positions = new int[range[1] - range[0]];
+        for (int row = range[0]; row < range[1]; row++)
+            positions[row - range[0]] = positionOf(row);
+        Arrays.sort(positions);
+        return positions;
+    }
+
+    private int[] findRange(byte[] pattern) {
+        if (pattern == null)
+            throw new IllegalArgumentException("Pattern cannot be null");
+
+        int start = 0;
+        int end = length;
+        for (int i = pattern.length - 1; i >= 0 && start < end; i--) {
+            int c = pattern[i] & 0xFF;
+            start = countLessThan[c] + occurrences(c, start);
+            end = countLessThan[c] + occurrences(c, end);
+        }
+        return new int[]{start, Math.max(start, end)};
+    }
+
+    private int occurrences(int c, int row) {
+        int block = row >>> BLOCK_SHIFT;
+        int blockStart = block << BLOCK_SHIFT;
+        if (row - blockStart <= BLOCK_SIZE / 2 || length - blockStart < BLOCK_SIZE)
+            return sampledOccurrences(c, block) + countInRange(c, blockStart, row);
+        return sampledOccurrences(c, block + 1) - countInRange(c, row, blockStart + BLOCK_SIZE);
+    }
+
+    private int sampledOccurrences(int c, int block) {
+        int superblock = block >>> (SUPERBLOCK_SHIFT - BLOCK_SHIFT);
+        return superblockCounts[superblock * Alphabet.R + c] + blockCounts[block * Alphabet.R + c];
+    }
+
+    private int countInRange(int c, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++)
+            if ((lastColumn[i] & 0xFF) == c)
+                count++;
+        return count;
+    }
+
+    public byte[] prefix(int count) {
+        byte[] prefix = new byte[Math.min(Math.max(count, 0), length)];
+        int row = first;
+        for (int i = 0; i < prefix.length; i++) {
+            int c = firstColumnSymbol(row);
+            prefix[i] = (byte) c;
+            row = selectInLastColumn(c, row - countLessThan[c]);
+        }
+        return prefix;
+    }
+
+    public byte[] suffix(int count) {
+        byte[] suffix = new byte[Math.min(Math.max(count, 0), length)];
+        int row = first;
+        for (int i = suffix.length - 1; i >= 0; i--) {
+            int c = lastColumn[row] & 0xFF;
+            suffix[i] = (byte) c;
+            row = countLessThan[c] + occurrences(c, row);
+        }
+        return suffix;
+    }
+
+    private int firstColumnSymbol(int row) {
+        int c = Alphabet.R - 1;
+        while (countLessThan[c] > row)
+            c--;
+        return c;
+    }
+
+    private int selectInLastColumn(int c, int rank) {
+        int low = 0;
+        int high = length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (occurrences(c, middle + 1) > rank)
+                high = middle;
+            else
+                low = middle + 1;
+        }
+        return low;
+    }
+
+    private int positionOf(int row) {
+        int steps = 0;
+        while (!isSampled(row)) {
+            int c = lastColumn[row] & 0xFF;
+            row = countLessThan[c] + occurrences(c, row);
+            steps++;
+        }
+        return (sampledPositions[sampledRank(row)] + steps) % length;
+    }
+
+    private boolean isSampled(int row) {
+        return (sampledRows[row / Long.SIZE] & (1L << row)) != 0;
+    }
+
+    private int sampledRank(int row) {
+        int word = row / Long.SIZE;
+        long below = sampledRows[word] & ((1L << row) - 1);
+        return sampledRowRanks[word] + Long.bitCount(below);
+    }
+
+    public static void main(String[] args) {
+        try (ByteSource in = BurrowsIO.standardInput()) {
+            int first = in.readInt();
+            byte[] lastColumn = in.readAll();
+
+            var fmIndex = new FMIndex(lastColumn, lastColumn.length, first);
+            StdOut.println(fmIndex.count(args[0]));
+            for (int position : fmIndex.locate(args[0]))
+                StdOut.println(position);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
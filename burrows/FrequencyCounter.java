@@ -1,16 +1,66 @@
 package burrows;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 public class FrequencyCounter {
-    private final int[] count = new int[Alphabet.R + 1];
+    private final int[] count;
+
+    public FrequencyCounter() {
+        this(Alphabet.R);
+    }
+
+    public FrequencyCounter(int radix) {
+        if (radix <= 0)
+            throw new IllegalArgumentException("Radix must be positive");
+
+        count = new int[radix + 1];
+    }
 
     public FrequencyCounter(String lastColumn) {
-        computeFrequencyCounts(lastColumn);
-        computeCumulates();
+        this();
+        count(lastColumn);
     }
 
-    private void computeFrequencyCounts(String lastColumn) {
+    public FrequencyCounter(byte[] lastColumn, int length) {
+        this();
+        count(lastColumn, length);
+    }
+
+    public void count(String lastColumn) {
+        reset();
         for (int i = 0; i < lastColumn.length(); i++)
             count[lastColumn.charAt(i) + 1]++;
+        computeCumulates();
+    }
+
+    public void count(byte[] lastColumn, int length) {
+        reset();
+        for (int i = 0; i < length; i++)
+            count[(lastColumn[i] & 0xFF) + 1]++;
+        computeCumulates();
+    }
+
+    public void count(ByteBuffer lastColumn, int start, int length) {
+        reset();
+        for (int i = 0; i < length; i++)
+            count[(lastColumn.get(start + i) & 0xFF) + 1]++;
+        computeCumulates();
+    }
+
+    public void count(int[] lastColumn, int length) {
+        reset();
+        for (int i = 0; i < length; i++)
+            count[lastColumn[i] + 1]++;
+        computeCumulates();
+    }
+
+    public int radix() {
+        return count.length - 1;
+    }
+
+    public void reset() {
+        Arrays.fill(count, 0);
     }
 
     private void computeCumulates() {
@@ -21,4 +71,8 @@ public class FrequencyCounter {
     public int get(int index) {
         return count[index]++;
     }
-}
\ No newline at end of file
+
+    public int countLessThan(int symbol) {
+        return count[symbol];
+    }
+}
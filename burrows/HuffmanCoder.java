@@ -0,0 +1,157 @@
+package burrows;
+
+import java.util.PriorityQueue;
+
+public class HuffmanCoder {
+    private static final int MAX_CODE_LENGTH = 20;
+    private static final int CODE_LENGTH_BITS = 5;
+
+    private HuffmanCoder() {
+    }
+
+    public static void encode(int[] symbols, int count, int alphabetSize, BitWriter out) {
+        int[] codeLengths = computeCodeLengths(countFrequencies(symbols, count, alphabetSize));
+        writeCodeLengths(codeLengths, out);
+
+        int[] codes = assignCanonicalCodes(codeLengths);
+        for (int i = 0; i < count; i++)
+            out.writeBits(codes[symbols[i]], codeLengths[symbols[i]]);
+    }
+
+    public static void decode(BitReader in, int count, int alphabetSize, int[] symbols) {
+        int[] codeLengths = readCodeLengths(in, alphabetSize);
+        var decoder = new CanonicalDecoder(codeLengths);
+        for (int i = 0; i < count; i++)
+            symbols[i] = decoder.decodeSymbol(in);
+    }
+
+    private static int[] countFrequencies(int[] symbols, int count, int alphabetSize) {
+        int[] frequencies = new int[alphabetSize];
+        for (int i = 0; i < count; i++)
+            frequencies[symbols[i]]++;
+        return frequencies;
+    }
+
+    private static int[] computeCodeLengths(int[] frequencies) {
+        int[] codeLengths = new int[frequencies.length];
+        int[] weights = frequencies.clone();
+        while (!buildCodeLengths(weights, codeLengths))
+            for (int i = 0; i < weights.length; i++)
+                if (weights[i] > 0)
+                    weights[i] = 1 + weights[i] / 2;
+        return codeLengths;
+    }
+
+    private static boolean buildCodeLengths(int[] weights, int[] codeLengths) {
+        int alphabetSize = weights.length;
+        int[] parent = new int[2 * alphabetSize];
+        PriorityQueue<long[]> pq = new PriorityQueue<>((x, y) -> Long.compare(x[0], y[0]));
+        for (int symbol = 0; symbol < alphabetSize; symbol++)
+            if (weights[symbol] > 0)
+                pq.add(new long[]{weights[symbol], symbol});
+
+        if (pq.size() == 1) {
+            codeLengths[(int) pq.peek()[1]] = 1;
+            return true;
+        }
+
+        int nextNode = alphabetSize;
+        while (pq.size() > 1) {
+            long[] x = pq.remove();
+            long[] y = pq.remove();
+            parent[(int) x[1]] = nextNode;
+            parent[(int) y[1]] = nextNode;
+            pq.add(new long[]{x[0] + y[0], nextNode++});
+        }
+
+        int root = nextNode - 1;
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            codeLengths[symbol] = weights[symbol] > 0 ? depth(parent, symbol, root) : 0;
+            if (codeLengths[symbol] > MAX_CODE_LENGTH)
+                return false;
+        }
+        return true;
+    }
+
+    private static int depth(int[] parent, int node, int root) {
+        int depth = 0;
+        while (node != root) {
+            node = parent[node];
+            depth++;
+        }
+        return depth;
+    }
+
+    private static int[] assignCanonicalCodes(int[] codeLengths) {
+        int[] lengthCounts = new int[MAX_CODE_LENGTH + 1];
+        for (int length : codeLengths)
+            lengthCounts[length]++;
+        lengthCounts[0] = 0;
+
+        int[] nextCode = new int[MAX_CODE_LENGTH + 2];
+        for (int length = 1, code = 0; length <= MAX_CODE_LENGTH; length++) {
+            code = (code + lengthCounts[length - 1]) << 1;
+            nextCode[length] = code;
+        }
+
+        int[] codes = new int[codeLengths.length];
+        for (int symbol = 0; symbol < codeLengths.length; symbol++)
+            if (codeLengths[symbol] > 0)
+                codes[symbol] = nextCode[codeLengths[symbol]]++;
+        return codes;
+    }
+
+    private static void writeCodeLengths(int[] codeLengths, BitWriter out) {
+        for (int length : codeLengths)
+            out.writeBits(length, CODE_LENGTH_BITS);
+    }
+
+    private static int[] readCodeLengths(BitReader in, int alphabetSize) {
+        int[] codeLengths = new int[alphabetSize];
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            codeLengths[symbol] = in.readBits(CODE_LENGTH_BITS);
+            if (codeLengths[symbol] > MAX_CODE_LENGTH)
+                throw new IllegalStateException("Corrupt Huffman code length");
+        }
+        return codeLengths;
+    }
+
+    private static class CanonicalDecoder {
+        private final int[] lengthCounts = new int[MAX_CODE_LENGTH + 1];
+        private final int[] sortedSymbols;
+
+        private CanonicalDecoder(int[] codeLengths) {
+            int used = 0;
+            for (int length : codeLengths)
+                if (length > 0) {
+                    lengthCounts[length]++;
+                    used++;
+                }
+
+            int[] offsets = new int[MAX_CODE_LENGTH + 2];
+            for (int length = 1; length <= MAX_CODE_LENGTH; length++)
+                offsets[length + 1] = offsets[length] + lengthCounts[length];
+
+            sortedSymbols = new int[used];
+            for (int symbol = 0; symbol < codeLengths.length; symbol++)
+                if (codeLengths[symbol] > 0)
+                    sortedSymbols[offsets[codeLengths[symbol]]++] = symbol;
+        }
+
+        private int decodeSymbol(BitReader in) {
+            int code = 0;
+            int first = 0;
+            int index = 0;
+            for (int length = 1; length <= MAX_CODE_LENGTH; length++) {
+                code |= in.readBits(1);
+                int count = lengthCounts[length];
+                if (code - first < count)
+                    return sortedSymbols[index + code - first];
+                index += count;
+                first = (first + count) << 1;
+                code <<= 1;
+            }
+            throw new IllegalStateException("Corrupt Huffman code");
+        }
+    }
+}
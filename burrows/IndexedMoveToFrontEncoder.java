@@ -0,0 +1,130 @@
+package burrows;
+
+import java.util.Arrays;
+
+public class IndexedMoveToFrontEncoder {
+    private static final int EMPTY = -1;
+
+    private final int radix;
+    private final int[] tree;
+    private final int[] slotOf;
+    private final int[] symbolAt;
+    private final int[] order;
+    private int front;
+
+    public IndexedMoveToFrontEncoder(int radix) {
+        if (radix <= 0)
+            throw new IllegalArgumentException("Radix must be positive");
+
+        this.radix = radix;
+        tree = new int[2 * radix + 1];
+        slotOf = new int[radix];
+        symbolAt = new int[2 * radix];
+        order = new int[radix];
+        for (int symbol = 0; symbol < radix; symbol++)
+            order[symbol] = symbol;
+        placeInOrder();
+    }
+
+    public int radix() {
+        return radix;
+    }
+
+    public int encode(int symbol) {
+        if (symbol < 0 || symbol >= radix)
+            throw new IllegalArgumentException("Symbol is outside the alphabet");
+
+        int slot = slotOf[symbol];
+        int rank = countBefore(slot);
+        if (rank > 0)
+            moveToFront(symbol, slot);
+        return rank;
+    }
+
+    public int decode(int rank) {
+        if (rank < 0 || rank >= radix)
+            throw new IllegalArgumentException("Rank is outside the alphabet");
+
+        int slot = findSlot(rank);
+        int symbol = symbolAt[slot];
+        if (rank > 0)
+            moveToFront(symbol, slot);
+        return symbol;
+    }
+
+    public void encode(int[] src, int length, int[] dst) {
+        for (int i = 0; i < length; i++)
+            dst[i] = encode(src[i]);
+    }
+
+    public void decode(int[] src, int length, int[] dst) {
+        for (int i = 0; i < length; i++)
+            dst[i] = decode(src[i]);
+    }
+
+    private void moveToFront(int symbol, int slot) {
+        if (front == 0) {
+            compact();
+            slot = slotOf[symbol];
+        }
+        add(slot, -1);
+        symbolAt[slot] = EMPTY;
+
+        front--;
+        symbolAt[front] = symbol;
+        slotOf[symbol] = front;
+        add(front, 1);
+    }
+
+    private void compact() {
+        int next = 0;
+        for (int slot = front; slot < symbolAt.length; slot++) {
+            if (symbolAt[slot] != EMPTY)
+                order[next++] = symbolAt[slot];
+        }
+        placeInOrder();
+    }
+
+    private void placeInOrder() {
+        front = radix;
+        Arrays.fill(symbolAt, 0, radix, EMPTY);
+        for (int i = 0; i < radix; i++) {
+            symbolAt[radix + i] = order[i];
+            slotOf[order[i]] = radix + i;
+        }
+
+        Arrays.fill(tree, 0);
+        for (int i = 1; i < tree.length; i++) {
+            if (symbolAt[i - 1] != EMPTY)
+                tree[i]++;
+            int parent = i + (i & -i);
+            if (parent < tree.length)
+                tree[parent] += tree[i];
+        }
+    }
+
+    private int countBefore(int slot) {
+        int sum = 0;
+        for (int i = slot; i > 0; i -= i & -i)
+            sum += tree[i];
+        return sum;
+    }
+
+    private void add(int slot, int delta) {
+        for (int i = slot + 1; i < tree.length; i += i & -i)
+            tree[i] += delta;
+    }
+
+    private int findSlot(int rank) {
+        int position = 0;
+        int remaining = rank + 1;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            int candidate = position + step;
+            if (candidate < tree.length && tree[candidate] < remaining) {
+                position = candidate;
+                remaining -= tree[candidate];
+            }
+        }
+        return position;
+    }
+}
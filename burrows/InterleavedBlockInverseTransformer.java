@@ -0,0 +1,141 @@
+package burrows;
+
+public class InterleavedBlockInverseTransformer implements BlockInverseTransformer, ChainDecoder {
+    public static final int MAX_BLOCK_SIZE = 1 << 24;
+    private static final int SYMBOL_BITS = 8;
+    private static final int SYMBOL_MASK = (1 << SYMBOL_BITS) - 1;
+
+    private final int[] forward;
+    private final int[] backward;
+    private final FrequencyCounter frequencyCounter = new FrequencyCounter();
+    private final ChunkedChecksum checksum = new ChunkedChecksum();
+
+    public InterleavedBlockInverseTransformer(int maxBlockSize, boolean bidirectional) {
+        if (maxBlockSize < 0 || maxBlockSize > MAX_BLOCK_SIZE)
+            throw new IllegalArgumentException("Block size must be between 0 and " + MAX_BLOCK_SIZE);
+
+        forward = new int[maxBlockSize];
+        backward = bidirectional ? new int[maxBlockSize] : null;
+    }
+
+    @Override
+    public int maxBlockSize() {
+        return forward.length;
+    }
+
+    @Override
+    public void inverseTransform(byte[] lastColumn, int length, int first, byte[] original) {
+        checkLength(length, lastColumn.length, original.length, first);
+
+        if (backward == null) {
+            buildForward(lastColumn, length);
+            decodeForward(first, 0, length, original);
+        } else {
+            frequencyCounter.count(lastColumn, length);
+            buildForwardAndBackward(lastColumn, length);
+            decodeBothWays(first, length, original);
+        }
+    }
+
+    @Override
+    public int inverseTransformWithChecksum(byte[] lastColumn, int length, int first, byte[] original) {
+        checkLength(length, lastColumn.length, original.length, first);
+
+        checksum.reset(length);
+        if (backward == null) {
+            buildForward(lastColumn, length);
+            decodeChain(lastColumn, first, 0, length, original, checksum);
+        } else {
+            frequencyCounter.count(lastColumn, length);
+            buildForwardAndBackward(lastColumn, length);
+            decodeBothWays(first, length, original, checksum);
+        }
+        return checksum.finish(original);
+    }
+
+    @Override
+    public void buildChains(byte[] lastColumn, int length) {
+        buildForward(lastColumn, length);
+    }
+
+    @Override
+    public int decodeChain(byte[] lastColumn, int row, int from, int to, byte[] original) {
+        return decodeForward(row, from, to, original);
+    }
+
+    private void buildForward(byte[] lastColumn, int length) {
+        frequencyCounter.count(lastColumn, length);
+        for (int i = 0; i < length; i++) {
+            int symbol = lastColumn[i] & SYMBOL_MASK;
+            forward[frequencyCounter.get(symbol)] = pack(i, symbol);
+        }
+    }
+
+    private void buildForwardAndBackward(byte[] lastColumn, int length) {
+        for (int i = 0; i < length; i++) {
+            int symbol = lastColumn[i] & SYMBOL_MASK;
+            int row = frequencyCounter.get(symbol);
+            forward[row] = pack(i, symbol);
+            backward[i] = pack(row, symbol);
+        }
+    }
+
+    private int decodeForward(int row, int from, int to, byte[] original) {
+        for (int i = from; i < to; i++) {
+            int entry = forward[row];
+            original[i] = (byte) entry;
+            row = entry >>> SYMBOL_BITS;
+        }
+        return row;
+    }
+
+    private void decodeBothWays(int first, int length, byte[] original) {
+        int middle = (length + 1) / 2;
+        int forwardRow = first;
+        int backwardRow = first;
+        for (int i = 0, j = length - 1; j >= middle; i++, j--) {
+            int forwardEntry = forward[forwardRow];
+            int backwardEntry = backward[backwardRow];
+            original[i] = (byte) forwardEntry;
+            original[j] = (byte) backwardEntry;
+            forwardRow = forwardEntry >>> SYMBOL_BITS;
+            backwardRow = backwardEntry >>> SYMBOL_BITS;
+        }
+        if (length % 2 == 1)
+            original[middle - 1] = (byte) forward[forwardRow];
+    }
+
+    private void decodeBothWays(int first, int length, byte[] original, ChunkedChecksum checksum) {
+        int middle = (length + 1) / 2;
+        int forwardRow = first;
+        int backwardRow = first;
+        int i = 0;
+        int j = length - 1;
+        while (j >= middle) {
+            int steps = Math.min(checksum.chunkEnd(i) - i, j + 1 - Math.max(ChunkedChecksum.chunkStart(j), middle));
+            for (int end = i + steps; i < end; i++, j--) {
+                int forwardEntry = forward[forwardRow];
+                int backwardEntry = backward[backwardRow];
+                original[i] = (byte) forwardEntry;
+                original[j] = (byte) backwardEntry;
+                forwardRow = forwardEntry >>> SYMBOL_BITS;
+                backwardRow = backwardEntry >>> SYMBOL_BITS;
+            }
+            checksum.record(original, ChunkedChecksum.chunkStart(i - 1), i);
+            checksum.record(original, j + 1, checksum.chunkEnd(j + 1));
+        }
+        if (length % 2 == 1)
+            original[middle - 1] = (byte) forward[forwardRow];
+    }
+
+    private static int pack(int row, int symbol) {
+        return (row << SYMBOL_BITS) | symbol;
+    }
+
+    private void checkLength(int length, int lastColumnCapacity, int originalCapacity, int first) {
+        if (length < 0 || length > forward.length || length > lastColumnCapacity || length > originalCapacity)
+            throw new IllegalArgumentException("Block does not fit into the inverse transformer buffers");
+        if (length > 0 && (first < 0 || first >= length))
+            throw new IllegalArgumentException("First row is outside the block");
+    }
+}
@@ -0,0 +1,35 @@
+package burrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+public class MappedByteSource extends BufferedByteSource {
+    private static final long MAX_MAPPING_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final long size;
+    private long mappedUntil;
+
+    public MappedByteSource(FileChannel channel) throws IOException {
+        super(ByteBuffer.allocate(0));
+        this.channel = channel;
+        this.size = channel.size();
+    }
+
+    @Override
+    protected boolean refill() throws IOException {
+        if (mappedUntil >= size)
+            return false;
+
+        long length = Math.min(MAX_MAPPING_SIZE, size - mappedUntil);
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, mappedUntil, length);
+        mappedUntil += length;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -1,43 +1,89 @@
 package burrows;
 
-import edu.princeton.cs.algs4.BinaryStdIn;
-import edu.princeton.cs.algs4.BinaryStdOut;
+import java.io.IOException;
 
 public class MoveToFront {
     public static void encode() {
+        BurrowsIO.runOnStandardStreams(MoveToFront::encode);
+    }
+
+    public static void encode(ByteSource in, ByteSink out) throws IOException {
         var moveToFrontEncoder = new MoveToFrontEncoder();
+        byte[] block = new byte[BurrowsIO.BUFFER_SIZE];
 
-        while (!BinaryStdIn.isEmpty())
-            encodeCharacter(moveToFrontEncoder, BinaryStdIn.readChar());
+        int length;
+        while ((length = in.read(block)) > 0) {
+            moveToFrontEncoder.encode(block, length, block);
+            out.write(block, 0, length);
+        }
 
-        BinaryStdOut.close();
+        out.flush();
     }
 
-    private static void encodeCharacter(MoveToFrontEncoder encoder, char c) {
-        int index = encoder.findIndex(c);
-        BinaryStdOut.write((char) index);
-        encoder.moveChar(c);
+    public static void decode() {
+        BurrowsIO.runOnStandardStreams(MoveToFront::decode);
     }
 
-    public static void decode() {
+    public static void decode(ByteSource in, ByteSink out) throws IOException {
         var moveToFrontEncoder = new MoveToFrontEncoder();
+        byte[] block = new byte[BurrowsIO.BUFFER_SIZE];
 
-        while (!BinaryStdIn.isEmpty())
-            decodeCharacter(moveToFrontEncoder, BinaryStdIn.readChar());
+        int length;
+        while ((length = in.read(block)) > 0) {
+            moveToFrontEncoder.decode(block, length, block);
+            out.write(block, 0, length);
+        }
 
-        BinaryStdOut.close();
+        out.flush();
     }
 
-    private static void decodeCharacter(MoveToFrontEncoder encoder, int index) {
-        char c = encoder.getChar(index);
-        BinaryStdOut.write(c);
-        encoder.moveChar(c);
+    public static void encodeWide(ByteSource in, ByteSink out) throws IOException {
+        var moveToFrontEncoder = new IndexedMoveToFrontEncoder(Alphabet.WIDE_R);
+        transformWide(in, out, moveToFrontEncoder::encode);
+    }
+
+    public static void decodeWide(ByteSource in, ByteSink out) throws IOException {
+        var moveToFrontEncoder = new IndexedMoveToFrontEncoder(Alphabet.WIDE_R);
+        transformWide(in, out, moveToFrontEncoder::decode);
+    }
+
+    private interface SymbolTransform {
+        void apply(int[] src, int length, int[] dst);
+    }
+
+    private static void transformWide(ByteSource in, ByteSink out, SymbolTransform transform) throws IOException {
+        byte[] block = new byte[BurrowsIO.BUFFER_SIZE];
+        int[] symbols = new int[BurrowsIO.BUFFER_SIZE / Character.BYTES];
+
+        int pending = 0;
+        int length;
+        while ((length = in.read(block, pending, block.length - pending)) > 0) {
+            length += pending;
+            int count = length / Character.BYTES;
+            for (int i = 0; i < count; i++)
+                symbols[i] = ((block[2 * i] & 0xFF) << Byte.SIZE) | (block[2 * i + 1] & 0xFF);
+            transform.apply(symbols, count, symbols);
+            for (int i = 0; i < count; i++) {
+                block[2 * i] = (byte) (symbols[i] >>> Byte.SIZE);
+                block[2 * i + 1] = (byte) symbols[i];
+            }
+            out.write(block, 0, count * Character.BYTES);
+
+            pending = length - count * Character.BYTES;
+            if (pending > 0)
+                block[0] = block[length - 1];
+        }
+        if (pending > 0)
+            throw new IOException("Input ends in the middle of a 16-bit symbol");
+
+        out.flush();
     }
 
     public static void main(String[] args) {
+        boolean wide = args.length > 1 && args[1].equals("-w");
         if (args[0].equals("-"))
-            MoveToFront.encode();
+            BurrowsIO.runOnStandardStreams(wide ? MoveToFront::encodeWide : MoveToFront::encode);
         if (args[0].equals("+"))
-            MoveToFront.decode();
+            BurrowsIO.runOnStandardStreams(wide ? MoveToFront::decodeWide : MoveToFront::decode);
     }
-}
\ No newline at end of file
+}
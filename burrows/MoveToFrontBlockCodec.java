@@ -0,0 +1,48 @@
+package burrows;
+
+import java.nio.ByteBuffer;
+
+public class MoveToFrontBlockCodec implements BlockCodec {
+    private final ThreadLocal<BurrowsWheelerBlockTransformer> transformers;
+    private final ThreadLocal<BlockInverseTransformer> inverseTransformers;
+
+    public MoveToFrontBlockCodec(int maxBlockSize) {
+        transformers = ThreadLocal.withInitial(() -> new BurrowsWheelerBlockTransformer(maxBlockSize));
+        inverseTransformers = ThreadLocal.withInitial(() -> BlockInverseTransformer.create(maxBlockSize));
+    }
+
+    @Override
+    public byte[] encode(byte[] block) {
+        ByteBuffer encoded = ByteBuffer.allocate(Integer.BYTES + block.length);
+
+        byte[] lastColumn = new byte[block.length];
+        encoded.putInt(transformers.get().transform(block, block.length, lastColumn));
+
+        new MoveToFrontEncoder().encode(lastColumn, lastColumn.length, lastColumn);
+        encoded.put(lastColumn);
+        return encoded.array();
+    }
+
+    @Override
+    public byte[] decode(byte[] encodedBlock) {
+        ByteBuffer encoded = ByteBuffer.wrap(encodedBlock);
+        int first = encoded.getInt();
+        byte[] lastColumn = new byte[encoded.remaining()];
+        encoded.get(lastColumn);
+
+        new MoveToFrontEncoder().decode(lastColumn, lastColumn.length, lastColumn);
+
+        byte[] original = new byte[lastColumn.length];
+        inverseTransformerFor(lastColumn.length).inverseTransform(lastColumn, lastColumn.length, first, original);
+        return original;
+    }
+
+    private BlockInverseTransformer inverseTransformerFor(int length) {
+        BlockInverseTransformer inverseTransformer = inverseTransformers.get();
+        if (inverseTransformer.maxBlockSize() < length) {
+            inverseTransformer = BlockInverseTransformer.create(length);
+            inverseTransformers.set(inverseTransformer);
+        }
+        return inverseTransformer;
+    }
+}
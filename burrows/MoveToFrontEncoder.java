@@ -4,9 +4,17 @@ public class MoveToFrontEncoder {
     private final char[] charOrder;
 
     public MoveToFrontEncoder() {
-        charOrder = new char[Alphabet.R];
-        for (char i = 0; i < Alphabet.R; i++)
-            charOrder[i] = i;
+        this(Alphabet.R);
+    }
+
+    public MoveToFrontEncoder(int radix) {
+        if (radix < 2 || radix > Alphabet.R)
+            throw new IllegalArgumentException("Radix must be between 2 and " + Alphabet.R
+                    + "; use IndexedMoveToFrontEncoder for wider alphabets");
+
+        charOrder = new char[radix];
+        for (int i = 0; i < radix; i++)
+            charOrder[i] = (char) i;
     }
 
     public char getChar(int index) {
@@ -25,13 +33,59 @@ public class MoveToFrontEncoder {
         return index;
     }
 
+    public int encode(char c) {
+        char front = charOrder[0];
+        if (front == c)
+            return 0;
+
+        char second = charOrder[1];
+        charOrder[0] = c;
+        charOrder[1] = front;
+        if (second == c)
+            return 1;
+
+        return shiftUntilFound(c, second);
+    }
+
+    private int shiftUntilFound(char c, char carried) {
+        int index = 2;
+        char current;
+        while ((current = charOrder[index]) != c) {
+            charOrder[index] = carried;
+            carried = current;
+            index++;
+        }
+        charOrder[index] = carried;
+        return index;
+    }
+
+    public char decode(int index) {
+        char c = charOrder[index];
+        if (index == 1) {
+            charOrder[1] = charOrder[0];
+            charOrder[0] = c;
+        } else if (index > 1) {
+            moveToFront(c, index);
+        }
+        return c;
+    }
+
+    public void encode(byte[] src, int length, byte[] dst) {
+        for (int i = 0; i < length; i++)
+            dst[i] = (byte) encode((char) (src[i] & 0xFF));
+    }
+
+    public void decode(byte[] src, int length, byte[] dst) {
+        for (int i = 0; i < length; i++)
+            dst[i] = (byte) decode(src[i] & 0xFF);
+    }
+
     private void moveToFront(char c, int index) {
         shiftElementsRight(index);
         charOrder[0] = c;
     }
 
     private void shiftElementsRight(int index) {
-        for (int i = index; i > 0; i--)
-            charOrder[i] = charOrder[i - 1];
+        System.arraycopy(charOrder, 0, charOrder, 1, index);
     }
-}
\ No newline at end of file
+}
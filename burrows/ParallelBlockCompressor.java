@@ -0,0 +1,133 @@
+package burrows;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+public class ParallelBlockCompressor implements AutoCloseable {
+    private static final int BLOCKS_IN_FLIGHT_PER_THREAD = 2;
+    public static final int END_OF_STREAM_SIZE = Integer.BYTES;
+    private static final int END_OF_STREAM = 0;
+
+    private final int blockSize;
+    private final int maxBlocksInFlight;
+    private final BlockCodec codec;
+    private final ExecutorService executor;
+
+    public ParallelBlockCompressor(int blockSize, int parallelism) {
+        this(blockSize, parallelism, new MoveToFrontBlockCodec(blockSize));
+    }
+
+    public ParallelBlockCompressor(int blockSize, int parallelism, BlockCodec codec) {
+        if (blockSize <= 0 || parallelism <= 0)
+            throw new IllegalArgumentException("Block size and parallelism must be positive");
+        if (codec == null)
+            throw new IllegalArgumentException("Codec cannot be null");
+
+        this.blockSize = blockSize;
+        this.maxBlocksInFlight = parallelism * BLOCKS_IN_FLIGHT_PER_THREAD;
+        this.codec = codec;
+        this.executor = new ForkJoinPool(parallelism);
+    }
+
+    public void compress(ByteSource in, ByteSink out) throws IOException {
+        compress(in, out, null);
+    }
+
+    public void compress(ByteSource in, ByteSink out, BlockIndex index) throws IOException {
+        Queue<Future<EncodedBlock>> pending = new ArrayDeque<>();
+        BlockConsumer<EncodedBlock> frameWriter = encoded -> {
+            byte[] frame = encoded.getFrame();
+            writeFrame(out, frame);
+            if (index != null)
+                index.addBlock(encoded.getLength(), Integer.BYTES + frame.length, encoded.getChecksum());
+        };
+
+        while (!in.isEmpty()) {
+            byte[] block = readBlock(in);
+            if (index != null)
+                submit(pending, () -> codec.encodeWithChecksum(block), frameWriter);
+            else
+                submit(pending, () -> new EncodedBlock(codec.encode(block), block.length, 0), frameWriter);
+        }
+        drain(pending, frameWriter);
+        out.writeInt(END_OF_STREAM);
+        out.flush();
+    }
+
+    private byte[] readBlock(ByteSource in) throws IOException {
+        byte[] block = new byte[blockSize];
+        int length = in.read(block);
+        return length == blockSize ? block : Arrays.copyOf(block, length);
+    }
+
+    private static void writeFrame(ByteSink out, byte[] frame) throws IOException {
+        out.writeInt(frame.length);
+        out.write(frame);
+    }
+
+    public void decompress(ByteSource in, ByteSink out) throws IOException {
+        Queue<Future<byte[]>> pending = new ArrayDeque<>();
+        int length;
+        while ((length = in.readInt()) != END_OF_STREAM) {
+            byte[] frame = new byte[length];
+            if (in.read(frame) != length)
+                throw new EOFException("Truncated block");
+
+            submit(pending, () -> codec.decode(frame), out::write);
+        }
+        drain(pending, out::write);
+        out.flush();
+    }
+
+    private interface BlockConsumer<T> {
+        void accept(T block) throws IOException;
+    }
+
+    private <T> void submit(Queue<Future<T>> pending, Callable<T> task, BlockConsumer<T> consumer)
+            throws IOException {
+        pending.add(executor.submit(task));
+        if (pending.size() >= maxBlocksInFlight)
+            consumer.accept(await(pending.remove()));
+    }
+
+    private static <T> void drain(Queue<Future<T>> pending, BlockConsumer<T> consumer) throws IOException {
+        while (!pending.isEmpty())
+            consumer.accept(await(pending.remove()));
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a block", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Block processing failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    public static void main(String[] args) {
+        int blockSize = args.length > 1 ? Integer.parseInt(args[1]) : BurrowsWheeler.DEFAULT_BLOCK_SIZE;
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        try (var compressor = new ParallelBlockCompressor(blockSize, parallelism)) {
+            if (args[0].equals("-"))
+                BurrowsIO.runOnStandardStreams(compressor::compress);
+            if (args[0].equals("+"))
+                BurrowsIO.runOnStandardStreams(compressor::decompress);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package burrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+public class ParallelBlockInverseTransformer implements BlockInverseTransformer {
+    private final BlockInverseTransformer engine;
+    private final ChainDecoder chains;
+    private final ForkJoinPool pool;
+    private final ChunkedChecksum checksum = new ChunkedChecksum();
+
+    public ParallelBlockInverseTransformer(int maxBlockSize) {
+        this(maxBlockSize, ForkJoinPool.commonPool());
+    }
+
+    public ParallelBlockInverseTransformer(int maxBlockSize, ForkJoinPool pool) {
+        if (pool == null)
+            throw new IllegalArgumentException("Pool cannot be null");
+
+        if (maxBlockSize <= InterleavedBlockInverseTransformer.MAX_BLOCK_SIZE) {
+            var interleaved = new InterleavedBlockInverseTransformer(maxBlockSize, false);
+            this.engine = interleaved;
+            this.chains = interleaved;
+        } else {
+            var plain = new BurrowsWheelerBlockInverseTransformer(maxBlockSize);
+            this.engine = plain;
+            this.chains = plain;
+        }
+        this.pool = pool;
+    }
+
+    @Override
+    public int maxBlockSize() {
+        return engine.maxBlockSize();
+    }
+
+    @Override
+    public void inverseTransform(byte[] lastColumn, int length, int first, byte[] original) {
+        engine.inverseTransform(lastColumn, length, first, original);
+    }
+
+    @Override
+    public int inverseTransformWithChecksum(byte[] lastColumn, int length, int first, byte[] original) {
+        return engine.inverseTransformWithChecksum(lastColumn, length, first, original);
+    }
+
+    @Override
+    public void inverseTransform(byte[] lastColumn, int length, int[] startRows, byte[] original) {
+        decodeSegments(lastColumn, length, startRows, original, null);
+    }
+
+    @Override
+    public int inverseTransformWithChecksum(byte[] lastColumn, int length, int[] startRows, byte[] original) {
+        checksum.reset(length);
+        decodeSegments(lastColumn, length, startRows, original, checksum);
+        return checksum.finish(original);
+    }
+
+    private void decodeSegments(byte[] lastColumn, int length, int[] startRows, byte[] original,
+                                ChunkedChecksum checksum) {
+        if (length < 0 || length > maxBlockSize() || length > lastColumn.length || length > original.length)
+            throw new IllegalArgumentException("Block does not fit into the inverse transformer buffers");
+
+        long segment = 1L << BurrowsWheelerBlockTransformer.segmentShift(length, startRows.length);
+        for (int k = 0; k * segment < length; k++) {
+            if (startRows[k] < 0 || startRows[k] >= length)
+                throw new IllegalArgumentException("Start row " + k + " is outside the block");
+        }
+
+        chains.buildChains(lastColumn, length);
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(startRows.length);
+        for (int k = 0; k * segment < length; k++) {
+            int row = startRows[k];
+            int from = (int) (k * segment);
+            int to = (int) Math.min(from + segment, length);
+            if (checksum == null)
+                tasks.add(pool.submit(() -> chains.decodeChain(lastColumn, row, from, to, original)));
+            else
+                tasks.add(pool.submit(() -> chains.decodeChain(lastColumn, row, from, to, original, checksum)));
+        }
+        for (ForkJoinTask<?> task : tasks)
+            task.join();
+    }
+}
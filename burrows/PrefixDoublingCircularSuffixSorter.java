@@ -0,0 +1,372 @@
+package burrows;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+
+public class PrefixDoublingCircularSuffixSorter implements CircularSuffixSorter {
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 16;
+    private static final int SEQUENTIAL_SORT_THRESHOLD = 1 << 13;
+    private static final int COUNTING_CHUNKS = ForkJoinPool.getCommonPoolParallelism();
+
+    private long[] keys = new long[0];
+    private long[] buffer = new long[0];
+    private int[] rank = new int[0];
+    private int[] nextRank = new int[0];
+    private int[] bucket = new int[0];
+    private Groups groups = new Groups();
+    private Groups refined = new Groups();
+
+    @Override
+    public void reserve(int maxLength, int alphabetSize) {
+        ensureCapacity(maxLength, alphabetSize);
+    }
+
+    private void ensureCapacity(int length, int alphabetSize) {
+        if (keys.length < length) {
+            keys = new long[length];
+            rank = new int[length];
+            nextRank = new int[length];
+        }
+        if (buffer.length < length && length >= PARALLEL_SORT_THRESHOLD)
+            buffer = new long[length];
+        if (bucket.length < COUNTING_CHUNKS * alphabetSize)
+            bucket = new int[COUNTING_CHUNKS * alphabetSize];
+    }
+
+    @Override
+    public void sort(int[] text, int length, int alphabetSize, int[] rotations) {
+        if (length == 0)
+            return;
+
+        ensureCapacity(length, alphabetSize);
+        sortBySymbol(text, length, alphabetSize, rotations);
+        assignInitialRanks(text, length, rotations, rank, groups);
+
+        for (int h = 1; groups.size > 0 && h < length; h *= 2) {
+            int offset = h;
+            int[] currentRank = rank;
+            long[] currentKeys = keys;
+            long[] currentBuffer = buffer;
+            Groups current = groups;
+            IntStream.range(0, current.size).parallel()
+                    .forEach(g -> sortGroup(current.starts[g], current.ends[g], offset, length, currentRank,
+                            currentKeys, currentBuffer, rotations));
+
+            System.arraycopy(rank, 0, nextRank, 0, length);
+            refineRanks(current, offset, length, rank, nextRank, rotations, refined);
+
+            int[] swap = rank;
+            rank = nextRank;
+            nextRank = swap;
+            groups = refined;
+            refined = current;
+        }
+    }
+
+    private void sortBySymbol(int[] text, int length, int alphabetSize, int[] rotations) {
+        int chunks = length >= PARALLEL_SORT_THRESHOLD ? COUNTING_CHUNKS : 1;
+        int chunkLength = length / chunks + 1;
+        int[] counts = bucket;
+        Arrays.fill(counts, 0, chunks * alphabetSize, 0);
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int base = c * alphabetSize;
+            for (int i = c * chunkLength, end = chunkEnd(c, chunkLength, length); i < end; i++)
+                counts[base + text[i]]++;
+        });
+
+        for (int symbol = 0, sum = 0; symbol < alphabetSize; symbol++) {
+            for (int c = 0; c < chunks; c++) {
+                int count = counts[c * alphabetSize + symbol];
+                counts[c * alphabetSize + symbol] = sum;
+                sum += count;
+            }
+        }
+
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int base = c * alphabetSize;
+            for (int i = c * chunkLength, end = chunkEnd(c, chunkLength, length); i < end; i++)
+                rotations[counts[base + text[i]]++] = i;
+        });
+    }
+
+    private static int chunkEnd(int chunk, int chunkLength, int length) {
+        return (int) Math.min((long) (chunk + 1) * chunkLength, length);
+    }
+
+    private static void assignInitialRanks(int[] text, int length, int[] rotations, int[] rank, Groups groups) {
+        groups.clear();
+        int groupStart = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i == length || text[rotations[i]] != text[rotations[groupStart]]) {
+                groups.addIfUnsorted(groupStart, i);
+                groupStart = i;
+            }
+            if (i < length)
+                rank[rotations[i]] = groupStart;
+        }
+    }
+
+    private static void sortGroup(int start, int end, int offset, int length, int[] rank, long[] keys,
+                                  long[] buffer, int[] rotations) {
+        if (end - start < PARALLEL_SORT_THRESHOLD) {
+            for (int i = start; i < end; i++) {
+                int rotation = rotations[i];
+                keys[i] = ((long) rank[shift(rotation, offset, length)] << Integer.SIZE) | rotation;
+            }
+            sortKeys(keys, start, end, depthLimit(end - start));
+            for (int i = start; i < end; i++)
+                rotations[i] = (int) keys[i];
+            return;
+        }
+
+        IntStream.range(start, end).parallel().forEach(i -> {
+            int rotation = rotations[i];
+            keys[i] = ((long) rank[shift(rotation, offset, length)] << Integer.SIZE) | rotation;
+        });
+        new MergeSortTask(keys, buffer, start, end, false).invoke();
+        IntStream.range(start, end).parallel().forEach(i -> rotations[i] = (int) keys[i]);
+    }
+
+    private static int depthLimit(int size) {
+        return 2 * (Integer.SIZE - Integer.numberOfLeadingZeros(size));
+    }
+
+    private static void sortKeys(long[] keys, int start, int end, int depthLimit) {
+        while (end - start > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(keys, start, end);
+                return;
+            }
+
+            int split = partition(keys, start, end);
+            if (split - start < end - split - 1) {
+                sortKeys(keys, start, split, depthLimit);
+                start = split + 1;
+            } else {
+                sortKeys(keys, split + 1, end, depthLimit);
+                end = split;
+            }
+        }
+        insertionSort(keys, start, end);
+    }
+
+    private static int partition(long[] keys, int start, int end) {
+        int middle = (start + end) >>> 1;
+        int last = end - 1;
+        if (keys[middle] < keys[start])
+            swap(keys, middle, start);
+        if (keys[last] < keys[start])
+            swap(keys, last, start);
+        if (keys[last] < keys[middle])
+            swap(keys, last, middle);
+        swap(keys, middle, last - 1);
+
+        long pivot = keys[last - 1];
+        int i = start;
+        int j = last - 1;
+        while (true) {
+            while (keys[++i] < pivot) {
+            }
+            while (keys[--j] > pivot) {
+            }
+            if (i >= j)
+                break;
+            swap(keys, i, j);
+        }
+        swap(keys, i, last - 1);
+        return i;
+    }
+
+    private static void insertionSort(long[] keys, int start, int end) {
+        for (int i = start + 1; i < end; i++) {
+            long key = keys[i];
+            int j = i - 1;
+            for (; j >= start && keys[j] > key; j--)
+                keys[j + 1] = keys[j];
+            keys[j + 1] = key;
+        }
+    }
+
+    private static void heapSort(long[] keys, int start, int end) {
+        int size = end - start;
+        for (int i = size / 2 - 1; i >= 0; i--)
+            siftDown(keys, start, i, size);
+        for (int last = size - 1; last > 0; last--) {
+            swap(keys, start, start + last);
+            siftDown(keys, start, 0, last);
+        }
+    }
+
+    private static void siftDown(long[] keys, int start, int node, int size) {
+        for (int child = 2 * node + 1; child < size; node = child, child = 2 * node + 1) {
+            if (child + 1 < size && keys[start + child + 1] > keys[start + child])
+                child++;
+            if (keys[start + node] >= keys[start + child])
+                return;
+            swap(keys, start + node, start + child);
+        }
+    }
+
+    private static void swap(long[] keys, int i, int j) {
+        long swap = keys[i];
+        keys[i] = keys[j];
+        keys[j] = swap;
+    }
+
+    private static void merge(long[] source, int leftStart, int leftEnd, int rightStart, int rightEnd,
+                              long[] target, int targetStart) {
+        int i = leftStart;
+        int j = rightStart;
+        int k = targetStart;
+        while (i < leftEnd && j < rightEnd)
+            target[k++] = source[i] <= source[j] ? source[i++] : source[j++];
+        System.arraycopy(source, i, target, k, leftEnd - i);
+        System.arraycopy(source, j, target, k + leftEnd - i, rightEnd - j);
+    }
+
+    private static int lowerBound(long[] keys, int start, int end, long key) {
+        while (start < end) {
+            int middle = (start + end) >>> 1;
+            if (keys[middle] < key)
+                start = middle + 1;
+            else
+                end = middle;
+        }
+        return start;
+    }
+
+    private static void refineRanks(Groups groups, int offset, int length, int[] rank, int[] nextRank,
+                                    int[] rotations, Groups refined) {
+        refined.clear();
+        for (int g = 0; g < groups.size; g++) {
+            int end = groups.ends[g];
+            int subgroupStart = groups.starts[g];
+            int subgroupKey = secondaryRank(subgroupStart, offset, length, rank, rotations);
+            for (int i = groups.starts[g]; i <= end; i++) {
+                int key = i < end ? secondaryRank(i, offset, length, rank, rotations) : -1;
+                if (key != subgroupKey) {
+                    refined.addIfUnsorted(subgroupStart, i);
+                    subgroupStart = i;
+                    subgroupKey = key;
+                }
+                if (i < end)
+                    nextRank[rotations[i]] = subgroupStart;
+            }
+        }
+    }
+
+    private static int secondaryRank(int index, int offset, int length, int[] rank, int[] rotations) {
+        return rank[shift(rotations[index], offset, length)];
+    }
+
+    private static int shift(int rotation, int offset, int length) {
+        int shifted = rotation + offset;
+        return shifted >= length ? shifted - length : shifted;
+    }
+
+    private static class Groups {
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private int size;
+
+        private void clear() {
+            size = 0;
+        }
+
+        private void addIfUnsorted(int start, int end) {
+            if (end - start < 2)
+                return;
+
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+        }
+    }
+
+    private static class MergeSortTask extends RecursiveAction {
+        private final long[] keys;
+        private final long[] buffer;
+        private final int start;
+        private final int end;
+        private final boolean intoBuffer;
+
+        private MergeSortTask(long[] keys, long[] buffer, int start, int end, boolean intoBuffer) {
+            this.keys = keys;
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+            this.intoBuffer = intoBuffer;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= SEQUENTIAL_SORT_THRESHOLD) {
+                sortKeys(keys, start, end, depthLimit(end - start));
+                if (intoBuffer)
+                    System.arraycopy(keys, start, buffer, start, end - start);
+                return;
+            }
+
+            int middle = (start + end) >>> 1;
+            ForkJoinTask.invokeAll(new MergeSortTask(keys, buffer, start, middle, !intoBuffer),
+                    new MergeSortTask(keys, buffer, middle, end, !intoBuffer));
+
+            long[] source = intoBuffer ? keys : buffer;
+            long[] target = intoBuffer ? buffer : keys;
+            new MergeTask(source, start, middle, middle, end, target, start).invoke();
+        }
+    }
+
+    private static class MergeTask extends RecursiveAction {
+        private final long[] source;
+        private final int leftStart;
+        private final int leftEnd;
+        private final int rightStart;
+        private final int rightEnd;
+        private final long[] target;
+        private final int targetStart;
+
+        private MergeTask(long[] source, int leftStart, int leftEnd, int rightStart, int rightEnd, long[] target,
+                          int targetStart) {
+            this.source = source;
+            this.leftStart = leftStart;
+            this.leftEnd = leftEnd;
+            this.rightStart = rightStart;
+            this.rightEnd = rightEnd;
+            this.target = target;
+            this.targetStart = targetStart;
+        }
+
+        @Override
+        protected void compute() {
+            int leftSize = leftEnd - leftStart;
+            int rightSize = rightEnd - rightStart;
+            if (leftSize + rightSize <= SEQUENTIAL_SORT_THRESHOLD) {
+                merge(source, leftStart, leftEnd, rightStart, rightEnd, target, targetStart);
+                return;
+            }
+
+            int leftSplit;
+            int rightSplit;
+            if (leftSize >= rightSize) {
+                leftSplit = (leftStart + leftEnd) >>> 1;
+                rightSplit = lowerBound(source, rightStart, rightEnd, source[leftSplit]);
+            } else {
+                rightSplit = (rightStart + rightEnd) >>> 1;
+                leftSplit = lowerBound(source, leftStart, leftEnd, source[rightSplit]);
+            }
+            int targetSplit = targetStart + (leftSplit - leftStart) + (rightSplit - rightStart);
+            ForkJoinTask.invokeAll(
+                    new MergeTask(source, leftStart, leftSplit, rightStart, rightSplit, target, targetStart),
+                    new MergeTask(source, leftSplit, leftEnd, rightSplit, rightEnd, target, targetSplit));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package burrows;
+
+import java.util.Arrays;
+
+public class RangeCoder {
+    private static final long TOP = 1L << 24;
+    private static final long MASK_32 = 0xFFFFFFFFL;
+    private static final int CONTEXT_COUNT = 6;
+
+    private RangeCoder() {
+    }
+
+    public static void encode(int[] symbols, int count, int alphabetSize, BitWriter out) {
+        AdaptiveFrequencyModel[] models = createModels(alphabetSize);
+        var encoder = new Encoder(out);
+
+        int previous = 0;
+        for (int i = 0; i < count; i++) {
+            AdaptiveFrequencyModel model = models[contextOf(previous)];
+            int symbol = symbols[i];
+            encoder.encode(model.cumulativeFrequency(symbol), model.frequency(symbol), model.total());
+            model.update(symbol);
+            previous = symbol;
+        }
+        encoder.flush();
+    }
+
+    public static void decode(BitReader in, int count, int alphabetSize, int[] symbols) {
+        AdaptiveFrequencyModel[] models = createModels(alphabetSize);
+        var decoder = new Decoder(in);
+
+        int previous = 0;
+        for (int i = 0; i < count; i++) {
+            AdaptiveFrequencyModel model = models[contextOf(previous)];
+            int symbol = model.findSymbol(decoder.decodeFrequency(model.total()));
+            decoder.consume(model.cumulativeFrequency(symbol), model.frequency(symbol));
+            model.update(symbol);
+            symbols[i] = symbol;
+            previous = symbol;
+        }
+    }
+
+    private static AdaptiveFrequencyModel[] createModels(int alphabetSize) {
+        AdaptiveFrequencyModel[] models = new AdaptiveFrequencyModel[CONTEXT_COUNT];
+        for (int i = 0; i < CONTEXT_COUNT; i++)
+            models[i] = new AdaptiveFrequencyModel(alphabetSize);
+        return models;
+    }
+
+    private static int contextOf(int previous) {
+        if (previous < 4)
+            return previous;
+        return previous < 16 ? 4 : 5;
+    }
+
+    private static class Encoder {
+        private final BitWriter out;
+        private long low;
+        private long range = MASK_32;
+        private int cache;
+        private long cacheSize = 1;
+
+        private Encoder(BitWriter out) {
+            this.out = out;
+        }
+
+        private void encode(int cumulativeFrequency, int frequency, int total) {
+            long r = range / total;
+            low += r * cumulativeFrequency;
+            range = r * frequency;
+            while (range < TOP) {
+                range <<= 8;
+                shiftLow();
+            }
+        }
+
+        private void shiftLow() {
+            if (low < 0xFF000000L || low > MASK_32) {
+                int carry = (int) (low >>> 32);
+                int pending = cache;
+                do {
+                    out.writeBits(pending + carry, Byte.SIZE);
+                    pending = 0xFF;
+                } while (--cacheSize != 0);
+                cache = (int) ((low >>> 24) & 0xFF);
+            }
+            cacheSize++;
+            low = (low & 0x00FFFFFFL) << 8;
+        }
+
+        private void flush() {
+            for (int i = 0; i < 5; i++)
+                shiftLow();
+        }
+    }
+
+    private static class Decoder {
+        private final BitReader in;
+        private long code;
+        private long range = MASK_32;
+        private long r;
+
+        private Decoder(BitReader in) {
+            this.in = in;
+            for (int i = 0; i < 5; i++)
+                code = ((code << 8) | in.readBits(Byte.SIZE)) & MASK_32;
+        }
+
+        private int decodeFrequency(int total) {
+            r = range / total;
+            return (int) Math.min(code / r, total - 1);
+        }
+
+        private void consume(int cumulativeFrequency, int frequency) {
+            code -= r * cumulativeFrequency;
+            range = r * frequency;
+            while (range < TOP) {
+                code = ((code << 8) | in.readBits(Byte.SIZE)) & MASK_32;
+                range <<= 8;
+            }
+        }
+    }
+
+    private static class AdaptiveFrequencyModel {
+        private static final int INCREMENT = 24;
+        private static final int MAX_TOTAL = 1 << 16;
+
+        private final int[] frequencies;
+        private int total;
+
+        private AdaptiveFrequencyModel(int alphabetSize) {
+            frequencies = new int[alphabetSize];
+            Arrays.fill(frequencies, 1);
+            total = alphabetSize;
+        }
+
+        private int total() {
+            return total;
+        }
+
+        private int frequency(int symbol) {
+            return frequencies[symbol];
+        }
+
+        private int cumulativeFrequency(int symbol) {
+            int cumulative = 0;
+            for (int s = 0; s < symbol; s++)
+                cumulative += frequencies[s];
+            return cumulative;
+        }
+
+        private int findSymbol(int target) {
+            int symbol = 0;
+            int cumulative = frequencies[0];
+            while (cumulative <= target)
+                cumulative += frequencies[++symbol];
+            return symbol;
+        }
+
+        private void update(int symbol) {
+            frequencies[symbol] += INCREMENT;
+            total += INCREMENT;
+            if (total > MAX_TOTAL)
+                rescale();
+        }
+
+        private void rescale() {
+            total = 0;
+            for (int s = 0; s < frequencies.length; s++) {
+                frequencies[s] = (frequencies[s] + 1) / 2;
+                total += frequencies[s];
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package burrows;
+
+import java.util.zip.Checksum;
+
+public class RunLengthEncoder {
+    private static final int RUN_THRESHOLD = 4;
+    private static final int MAX_EXTRA_RUN = 255;
+
+    private RunLengthEncoder() {
+    }
+
+    public static int maxEncodedLength(int length) {
+        return length + length / RUN_THRESHOLD + 1;
+    }
+
+    public static int encode(byte[] src, int length, byte[] dst) {
+        int out = 0;
+        int i = 0;
+        while (i < length) {
+            byte b = src[i];
+            int run = measureRun(src, i, length);
+            for (int k = 0; k < Math.min(run, RUN_THRESHOLD); k++)
+                dst[out++] = b;
+            if (run >= RUN_THRESHOLD)
+                dst[out++] = (byte) (run - RUN_THRESHOLD);
+            i += run;
+        }
+        return out;
+    }
+
+    private static int measureRun(byte[] src, int start, int length) {
+        int end = Math.min(length, start + RUN_THRESHOLD + MAX_EXTRA_RUN);
+        int run = 1;
+        while (start + run < end && src[start + run] == src[start])
+            run++;
+        return run;
+    }
+
+    public static int decode(byte[] src, int length, byte[] dst) {
+        return decode(src, length, dst, null);
+    }
+
+    public static int decode(byte[] src, int length, byte[] dst, Checksum checksum) {
+        int out = 0;
+        int checked = 0;
+        int previous = -1;
+        int run = 0;
+        for (int i = 0; i < length; i++) {
+            int b = src[i] & 0xFF;
+            if (run == RUN_THRESHOLD) {
+                for (int k = 0; k < b; k++)
+                    dst[out++] = (byte) previous;
+                run = 0;
+                continue;
+            }
+
+            dst[out++] = (byte) b;
+            run = b == previous ? run + 1 : 1;
+            previous = b;
+            if (checksum != null && out - checked >= ChunkedChecksum.CHUNK_SIZE) {
+                checksum.update(dst, checked, out - checked);
+                checked = out;
+            }
+        }
+        if (checksum != null)
+            checksum.update(dst, checked, out - checked);
+        return out;
+    }
+}
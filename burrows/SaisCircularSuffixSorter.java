@@ -0,0 +1,253 @@
+package burrows;
+
+import java.util.Arrays;
+
+public class SaisCircularSuffixSorter implements CircularSuffixSorter {
+    private static final int EMPTY = -1;
+
+    private long[] sTypes = new long[0];
+    private int[] bucket = new int[0];
+
+    @Override
+    public void reserve(int maxLength, int alphabetSize) {
+        ensureCapacity(maxLength, alphabetSize);
+    }
+
+    private void ensureCapacity(int length, int alphabetSize) {
+        int typeWords = (2 * length + Long.SIZE) / Long.SIZE;
+        if (sTypes.length < typeWords)
+            sTypes = new long[typeWords];
+
+        int bucketSize = Math.max(alphabetSize, length / 2 + 1);
+        if (bucket.length < bucketSize)
+            bucket = new int[bucketSize];
+    }
+
+    @Override
+    public void sort(int[] text, int length, int alphabetSize, int[] rotations) {
+        if (length == 0)
+            return;
+
+        int start = findMinimalRotation(text, length);
+        rotateLeft(text, length, start);
+        try {
+            int period = findLyndonPrefix(text, length);
+            ensureCapacity(period, alphabetSize);
+            sais(text, 0, rotations, period, alphabetSize, 0);
+            expandRotations(rotations, period, length, start);
+        } finally {
+            rotateLeft(text, length, length - start);
+        }
+    }
+
+    private static int findMinimalRotation(int[] text, int length) {
+        int i = 0;
+        int j = 1;
+        int k = 0;
+        while (i < length && j < length && k < length) {
+            int a = text[wrap(i + k, length)];
+            int b = text[wrap(j + k, length)];
+            if (a == b) {
+                k++;
+                continue;
+            }
+            if (a > b)
+                i += k + 1;
+            else
+                j += k + 1;
+            if (i == j)
+                j++;
+            k = 0;
+        }
+        return Math.min(i, j);
+    }
+
+    private static int wrap(int index, int length) {
+        return index >= length ? index - length : index;
+    }
+
+    private static int findLyndonPrefix(int[] text, int length) {
+        int k = 0;
+        int j = 1;
+        while (j < length && text[k] <= text[j]) {
+            k = text[k] < text[j] ? 0 : k + 1;
+            j++;
+        }
+        return j - k;
+    }
+
+    private static void rotateLeft(int[] text, int length, int shift) {
+        if (shift == 0 || shift == length)
+            return;
+
+        reverse(text, 0, shift);
+        reverse(text, shift, length);
+        reverse(text, 0, length);
+    }
+
+    private static void reverse(int[] text, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            int swap = text[i];
+            text[i] = text[j];
+            text[j] = swap;
+        }
+    }
+
+    private static void expandRotations(int[] rotations, int period, int length, int start) {
+        int copies = length / period;
+        for (int k = period - 1; k >= 0; k--) {
+            int base = (rotations[k] + start) % period;
+            for (int j = copies - 1; j >= 0; j--)
+                rotations[k * copies + j] = base + j * period;
+        }
+    }
+
+    private void sais(int[] s, int offset, int[] sa, int n, int k, int typeOffset) {
+        classifySuffixes(s, offset, n, typeOffset);
+
+        placeLmsSuffixes(s, offset, sa, n, k, typeOffset);
+        induceSort(s, offset, sa, n, k, typeOffset);
+
+        int lmsCount = compactSortedLms(sa, n, typeOffset);
+        int names = nameLmsSubstrings(s, offset, sa, n, typeOffset, lmsCount);
+
+        int reduced = n - lmsCount;
+        if (names < lmsCount)
+            sais(sa, reduced, sa, lmsCount, names, typeOffset + n);
+        else
+            for (int i = 0; i < lmsCount; i++)
+                sa[sa[reduced + i]] = i;
+
+        placeSortedLmsSuffixes(s, offset, sa, n, k, typeOffset, lmsCount);
+        induceSort(s, offset, sa, n, k, typeOffset);
+    }
+
+    private void classifySuffixes(int[] s, int offset, int n, int typeOffset) {
+        setSType(typeOffset + n - 1, false);
+        for (int i = n - 2; i >= 0; i--) {
+            int current = s[offset + i];
+            int next = s[offset + i + 1];
+            setSType(typeOffset + i, current < next || (current == next && isSType(typeOffset + i + 1)));
+        }
+    }
+
+    private void setSType(int bit, boolean sType) {
+        if (sType)
+            sTypes[bit >>> 6] |= 1L << bit;
+        else
+            sTypes[bit >>> 6] &= ~(1L << bit);
+    }
+
+    private boolean isSType(int bit) {
+        return (sTypes[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private boolean isLms(int typeOffset, int i) {
+        return i > 0 && isSType(typeOffset + i) && !isSType(typeOffset + i - 1);
+    }
+
+    private void placeLmsSuffixes(int[] s, int offset, int[] sa, int n, int k, int typeOffset) {
+        computeBucketEnds(s, offset, n, k);
+        Arrays.fill(sa, 0, n, EMPTY);
+        for (int i = 1; i < n; i++)
+            if (isLms(typeOffset, i))
+                sa[--bucket[s[offset + i]]] = i;
+    }
+
+    private void placeSortedLmsSuffixes(int[] s, int offset, int[] sa, int n, int k, int typeOffset,
+                                        int lmsCount) {
+        int reduced = n - lmsCount;
+        for (int i = 1, j = reduced; i < n; i++)
+            if (isLms(typeOffset, i))
+                sa[j++] = i;
+        for (int i = 0; i < lmsCount; i++)
+            sa[i] = sa[reduced + sa[i]];
+        Arrays.fill(sa, lmsCount, n, EMPTY);
+
+        computeBucketEnds(s, offset, n, k);
+        for (int i = lmsCount - 1; i >= 0; i--) {
+            int suffix = sa[i];
+            sa[i] = EMPTY;
+            sa[--bucket[s[offset + suffix]]] = suffix;
+        }
+    }
+
+    private void induceSort(int[] s, int offset, int[] sa, int n, int k, int typeOffset) {
+        computeBucketStarts(s, offset, n, k);
+        sa[bucket[s[offset + n - 1]]++] = n - 1;
+        for (int i = 0; i < n; i++) {
+            int j = sa[i] - 1;
+            if (j >= 0 && !isSType(typeOffset + j))
+                sa[bucket[s[offset + j]]++] = j;
+        }
+
+        computeBucketEnds(s, offset, n, k);
+        for (int i = n - 1; i >= 0; i--) {
+            int j = sa[i] - 1;
+            if (j >= 0 && isSType(typeOffset + j))
+                sa[--bucket[s[offset + j]]] = j;
+        }
+    }
+
+    private int compactSortedLms(int[] sa, int n, int typeOffset) {
+        int lmsCount = 0;
+        for (int i = 0; i < n; i++)
+            if (isLms(typeOffset, sa[i]))
+                sa[lmsCount++] = sa[i];
+        Arrays.fill(sa, lmsCount, n, EMPTY);
+        return lmsCount;
+    }
+
+    private int nameLmsSubstrings(int[] s, int offset, int[] sa, int n, int typeOffset, int lmsCount) {
+        int names = 0;
+        int previous = EMPTY;
+        for (int i = 0; i < lmsCount; i++) {
+            int current = sa[i];
+            if (previous == EMPTY || !equalLmsSubstrings(s, offset, n, typeOffset, current, previous)) {
+                names++;
+                previous = current;
+            }
+            sa[lmsCount + current / 2] = names - 1;
+        }
+
+        for (int i = n - 1, j = n - 1; i >= lmsCount; i--)
+            if (sa[i] != EMPTY)
+                sa[j--] = sa[i];
+        return names;
+    }
+
+    private boolean equalLmsSubstrings(int[] s, int offset, int n, int typeOffset, int x, int y) {
+        for (int d = 0; ; d++) {
+            if (x + d == n || y + d == n)
+                return false;
+            if (s[offset + x + d] != s[offset + y + d]
+                    || isSType(typeOffset + x + d) != isSType(typeOffset + y + d))
+                return false;
+            if (d > 0 && (isLms(typeOffset, x + d) || isLms(typeOffset, y + d)))
+                return true;
+        }
+    }
+
+    private void computeBucketStarts(int[] s, int offset, int n, int k) {
+        countSymbols(s, offset, n, k);
+        for (int c = 0, sum = 0; c < k; c++) {
+            int count = bucket[c];
+            bucket[c] = sum;
+            sum += count;
+        }
+    }
+
+    private void computeBucketEnds(int[] s, int offset, int n, int k) {
+        countSymbols(s, offset, n, k);
+        for (int c = 0, sum = 0; c < k; c++) {
+            sum += bucket[c];
+            bucket[c] = sum;
+        }
+    }
+
+    private void countSymbols(int[] s, int offset, int n, int k) {
+        Arrays.fill(bucket, 0, k, 0);
+        for (int i = 0; i < n; i++)
+            bucket[s[offset + i]]++;
+    }
+}
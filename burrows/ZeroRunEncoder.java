@@ -0,0 +1,68 @@
+package burrows;
+
+public class ZeroRunEncoder {
+    public static final int RUN_A = 0;
+    public static final int RUN_B = 1;
+    public static final int ALPHABET_SIZE = Alphabet.R + 1;
+
+    private ZeroRunEncoder() {
+    }
+
+    public static int encode(byte[] ranks, int length, int[] symbols) {
+        int out = 0;
+        int zeroRun = 0;
+        for (int i = 0; i < length; i++) {
+            int rank = ranks[i] & 0xFF;
+            if (rank == 0) {
+                zeroRun++;
+                continue;
+            }
+
+            out = encodeZeroRun(zeroRun, symbols, out);
+            zeroRun = 0;
+            symbols[out++] = rank + 1;
+        }
+        return encodeZeroRun(zeroRun, symbols, out);
+    }
+
+    private static int encodeZeroRun(int zeroRun, int[] symbols, int out) {
+        if (zeroRun == 0)
+            return out;
+
+        int pending = zeroRun - 1;
+        while (true) {
+            symbols[out++] = (pending & 1) == 0 ? RUN_A : RUN_B;
+            if (pending < 2)
+                return out;
+            pending = (pending - 2) >>> 1;
+        }
+    }
+
+    public static int decode(int[] symbols, int count, byte[] ranks) {
+        int out = 0;
+        int zeroRun = 0;
+        int weight = 1;
+        for (int i = 0; i < count; i++) {
+            int symbol = symbols[i];
+            if (symbol == RUN_A || symbol == RUN_B) {
+                zeroRun += symbol == RUN_A ? weight : 2 * weight;
+                weight <<= 1;
+                continue;
+            }
+
+            out = writeZeros(zeroRun, ranks, out);
+            zeroRun = 0;
+            weight = 1;
+            ranks[out++] = (byte) (symbol - 1);
+        }
+        return writeZeros(zeroRun, ranks, out);
+    }
+
+    private static int writeZeros(int zeroRun, byte[] ranks, int out) {
+        if (out + zeroRun > ranks.length)
+            throw new IllegalStateException("Zero run exceeds the block size");
+        for (int i = 0; i < zeroRun; i++)
+            ranks[out++] = 0;
+        return out;
+    }
+}